@@ -0,0 +1,140 @@
+package com.ecommerce.cart.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary snapshot of cached carts, written and read through a memory-mapped file.
+ * Layout: magic, format version, creation time, entry count, then per entry
+ * [key length][key UTF-8][sequence][value length][stored value bytes].
+ * Values are exposed as slices of the mapping and only copied or decoded when used.
+ */
+public final class CartSnapshotFile {
+
+    private static final int MAGIC = 0x43534E50; // "CSNP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES;
+
+    private CartSnapshotFile() {
+    }
+
+    /**
+     * Writes the entries to a temporary file and atomically moves it into place, so readers
+     * (and a still-mapped previous snapshot) never see a partial file.
+     */
+    public static void write(Path path, List<Entry> entries, long createdAtMillis) throws IOException {
+        long size = HEADER_LENGTH;
+        List<byte[]> keys = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            keys.add(key);
+            size += Integer.BYTES + key.length + Long.BYTES + Integer.BYTES + entry.getValue().remaining();
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Cart snapshot too large: " + size + " bytes");
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(createdAtMillis).putInt(entries.size());
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = entries.get(i);
+                    byte[] key = keys.get(i);
+                    buffer.putInt(key.length).put(key).putLong(entry.getSequence());
+                    buffer.putInt(entry.getValue().remaining()).put(entry.getValue().duplicate());
+                }
+                buffer.force();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps a snapshot file and indexes its entries without copying the values.
+     */
+    public static Snapshot read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a cart snapshot: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported cart snapshot version " + version + ": " + path);
+        }
+        long createdAtMillis = buffer.getLong();
+        int count = buffer.getInt();
+
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] key = new byte[buffer.getInt()];
+            buffer.get(key);
+            long sequence = buffer.getLong();
+            int valueLength = buffer.getInt();
+            ByteBuffer value = buffer.slice(buffer.position(), valueLength).asReadOnlyBuffer();
+            buffer.position(buffer.position() + valueLength);
+            entries.add(new Entry(new String(key, StandardCharsets.UTF_8), sequence, value));
+        }
+        return new Snapshot(createdAtMillis, entries);
+    }
+
+    public static final class Entry {
+        private final String key;
+        private final long sequence;
+        private final ByteBuffer value;
+
+        public Entry(String key, long sequence, ByteBuffer value) {
+            this.key = key;
+            this.sequence = sequence;
+            this.value = value;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public ByteBuffer getValue() {
+            return value;
+        }
+    }
+
+    public static final class Snapshot {
+        private final long createdAtMillis;
+        private final List<Entry> entries;
+
+        public Snapshot(long createdAtMillis, List<Entry> entries) {
+            this.createdAtMillis = createdAtMillis;
+            this.entries = entries;
+        }
+
+        public long getCreatedAtMillis() {
+            return createdAtMillis;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+    }
+}
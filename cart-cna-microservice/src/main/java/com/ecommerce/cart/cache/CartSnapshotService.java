@@ -0,0 +1,147 @@
+package com.ecommerce.cart.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.CartCacheProperties;
+import com.ecommerce.cart.redis.CartKeys;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Warm-restart support for the {@link LocalCartCache}.
+ * The most recently used carts are snapshotted periodically and on shutdown; on startup the snapshot is
+ * mapped, each entry's sequence number is checked against Redis in bulk, and the still-current entries
+ * pre-warm the cache. The restore runs in the background, so startup never waits on a large snapshot;
+ * requests served before it completes simply miss the cache. Values are decoded from the mapping when read.
+ */
+@Component
+public class CartSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CartSnapshotService.class);
+
+    private static final int VALIDATION_BATCH_SIZE = 1000;
+
+    private final CartCacheProperties properties;
+    private final LocalCartCache localCartCache;
+    private final ReactiveHashOperations<String, String, String> hashOps;
+
+    private volatile Disposable restoring;
+
+    public CartSnapshotService(CartCacheProperties properties, LocalCartCache localCartCache,
+                               @Qualifier("adminRedisTemplate") ReactiveRedisTemplate<String, String> adminRedisTemplate) {
+        this.properties = properties;
+        this.localCartCache = localCartCache;
+        this.hashOps = adminRedisTemplate.opsForHash();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        if (!isActive()) {
+            return;
+        }
+        Path path = snapshotPath();
+        long start = System.nanoTime();
+        // Mapping the file is blocking I/O, so the whole restore starts off the caller's thread
+        restoring = Mono.fromCallable(() -> Files.exists(path) ? CartSnapshotFile.read(path) : null)
+                .subscribeOn(Schedulers.boundedElastic())
+                .filter(snapshot -> isRecent(path, snapshot))
+                .flatMap(snapshot -> Flux.fromIterable(snapshot.getEntries())
+                        .buffer(VALIDATION_BATCH_SIZE)
+                        .concatMap(this::restoreCurrent)
+                        .reduce(0L, Long::sum)
+                        .doOnNext(restored -> LOG.info("Restored {} of {} snapshot carts in {} ms", restored,
+                                snapshot.getEntries().size(), (System.nanoTime() - start) / 1_000_000)))
+                .subscribe(null, e -> LOG.warn("Unable to restore cart snapshot {}, starting cold", path, e));
+    }
+
+    @Scheduled(fixedDelayString = "${cart.cache.snapshot.interval-ms:60000}",
+            initialDelayString = "${cart.cache.snapshot.interval-ms:60000}")
+    public void snapshotPeriodically() {
+        snapshot();
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        Disposable restore = restoring;
+        if (restore != null) {
+            restore.dispose();
+        }
+        snapshot();
+    }
+
+    void snapshot() {
+        if (!isActive() || localCartCache.size() == 0) {
+            return;
+        }
+        List<Map.Entry<String, LocalCartCache.Entry>> recent =
+                localCartCache.mostRecent(properties.getSnapshot().getMaxEntries());
+        List<CartSnapshotFile.Entry> entries = new ArrayList<>(recent.size());
+        for (Map.Entry<String, LocalCartCache.Entry> entry : recent) {
+            entries.add(new CartSnapshotFile.Entry(entry.getKey(), entry.getValue().getSequence(), entry.getValue().getValue()));
+        }
+        try {
+            CartSnapshotFile.write(snapshotPath(), entries, System.currentTimeMillis());
+            LOG.debug("Wrote cart snapshot with {} carts", entries.size());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to write cart snapshot {}", snapshotPath(), e);
+        }
+    }
+
+    /**
+     * Admits the entries of a batch whose sequence number still matches Redis.
+     */
+    private Mono<Long> restoreCurrent(List<CartSnapshotFile.Entry> batch) {
+        List<String> keys = batch.stream().map(CartSnapshotFile.Entry::getKey).collect(Collectors.toList());
+        return hashOps.multiGet(CartKeys.SEQUENCES, keys).map(sequences -> {
+            long restored = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                CartSnapshotFile.Entry entry = batch.get(i);
+                String current = sequences.get(i);
+                if (current != null && Long.parseLong(current) == entry.getSequence()) {
+                    localCartCache.putRestored(entry.getKey(), entry.getValue(), entry.getSequence());
+                    restored++;
+                }
+            }
+            return restored;
+        });
+    }
+
+    private boolean isRecent(Path path, CartSnapshotFile.Snapshot snapshot) {
+        long age = System.currentTimeMillis() - snapshot.getCreatedAtMillis();
+        if (age > properties.getSnapshot().getMaxAgeMs()) {
+            LOG.info("Ignoring cart snapshot {} taken {} ms ago", path, age);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isActive() {
+        return localCartCache.isEnabled() && properties.getSnapshot().isEnabled();
+    }
+
+    private Path snapshotPath() {
+        return Paths.get(properties.getSnapshot().getPath());
+    }
+}
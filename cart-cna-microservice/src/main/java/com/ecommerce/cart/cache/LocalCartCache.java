@@ -0,0 +1,124 @@
+package com.ecommerce.cart.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.CartCacheProperties;
+import com.ecommerce.cart.model.Cart;
+
+/**
+ * Bounded LRU cache of recently used carts, keyed by customer ID.
+ * Entries keep the stored (serialized) bytes together with the cart's sequence number, so they can be
+ * revalidated cheaply against Redis and written to a snapshot without re-serializing. Only the immutable
+ * bytes are shared; every read decodes its own cart, which callers are free to modify.
+ */
+@Component
+public class LocalCartCache {
+
+    private final CartCacheProperties properties;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    public LocalCartCache(CartCacheProperties properties) {
+        this.properties = properties;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getTtlMs());
+        int maxEntries = properties.getMaxEntries();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Entry get(String customerId) {
+        return entries.get(customerId);
+    }
+
+    public Entry put(String customerId, ByteBuffer value, long sequence) {
+        Entry entry = new Entry(value, sequence, System.nanoTime());
+        entries.put(customerId, entry);
+        return entry;
+    }
+
+    /**
+     * Adds an entry restored from a snapshot without displacing carts loaded since startup.
+     */
+    public void putRestored(String customerId, ByteBuffer value, long sequence) {
+        synchronized (entries) {
+            if (entries.size() < properties.getMaxEntries()) {
+                entries.putIfAbsent(customerId, new Entry(value, sequence, System.nanoTime()));
+            }
+        }
+    }
+
+    public void invalidate(String customerId) {
+        entries.remove(customerId);
+    }
+
+    public boolean isFresh(Entry entry) {
+        return System.nanoTime() - entry.validatedAtNanos < ttlNanos;
+    }
+
+    public void markValidated(Entry entry) {
+        entry.validatedAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Up to {@code limit} entries, most recently used first.
+     */
+    public List<Map.Entry<String, Entry>> mostRecent(int limit) {
+        List<Map.Entry<String, Entry>> copy;
+        synchronized (entries) {
+            copy = new ArrayList<>(entries.entrySet());
+        }
+        Collections.reverse(copy);
+        return copy.size() > limit ? copy.subList(0, limit) : copy;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static final class Entry {
+        private final ByteBuffer value;
+        private final long sequence;
+        private volatile long validatedAtNanos;
+
+        private Entry(ByteBuffer value, long sequence, long validatedAtNanos) {
+            this.value = value;
+            this.sequence = sequence;
+            this.validatedAtNanos = validatedAtNanos;
+        }
+
+        /**
+         * Stored bytes; a read-only view, possibly backed by a memory-mapped snapshot.
+         */
+        public ByteBuffer getValue() {
+            return value.asReadOnlyBuffer();
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * A newly decoded cart, owned by the caller.
+         */
+        public Cart cart(RedisSerializationContext.SerializationPair<Cart> valuePair) {
+            return valuePair.read(value.duplicate());
+        }
+    }
+}
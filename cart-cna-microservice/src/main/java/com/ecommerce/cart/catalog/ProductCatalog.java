@@ -0,0 +1,208 @@
+package com.ecommerce.cart.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.CartStorageProperties;
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.redis.CartKeys;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Shared product metadata for normalized cart storage.
+ * <p>
+ * The first metadata stored for a product becomes its catalog entry (HSETNX) and is never rewritten,
+ * so replicas can cache entries without invalidation. Stored items drop only the fields that equal
+ * their catalog entry and keep any that differ, which makes rehydration a fill of missing fields.
+ * Catalog commands sit on the cart read and write paths, so they use the shared request connection.
+ */
+@Component
+public class ProductCatalog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductCatalog.class);
+
+    private static final Jackson2JsonRedisSerializer<ProductMetadata> SERIALIZER = new Jackson2JsonRedisSerializer<>(ProductMetadata.class);
+
+    private final CartStorageProperties properties;
+    private final ReactiveHashOperations<String, String, String> hashOps;
+    private final Map<String, ProductMetadata> entries;
+
+    public ProductCatalog(CartStorageProperties properties, ReactiveStringRedisTemplate redisTemplate) {
+        this.properties = properties;
+        this.hashOps = redisTemplate.opsForHash();
+        int maxEntries = properties.getCatalogCacheEntries();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ProductMetadata> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return properties.isNormalized();
+    }
+
+    /**
+     * Registers the metadata of the cart's products and emits a copy of the cart to store,
+     * with every item field that matches the catalog removed. The given cart is not modified.
+     */
+    public Mono<Cart> normalize(Cart cart) {
+        if (cart.getItems() == null || cart.getItems().isEmpty()) {
+            return Mono.just(cart);
+        }
+        Map<String, CartItem> byProduct = new LinkedHashMap<>();
+        for (CartItem item : cart.getItems()) {
+            if (item.getProductId() != null) {
+                byProduct.putIfAbsent(item.getProductId(), item);
+            }
+        }
+        return lookup(byProduct.keySet())
+                .flatMap(found -> register(byProduct, found))
+                .map(catalog -> strip(cart, catalog));
+    }
+
+    /**
+     * Fills item fields left out by {@link #normalize(Cart)} from the catalog. Only products that are
+     * missing fields and not cached locally cost a round trip. Carts stored whole pass through unchanged.
+     * Applies even when normalized storage is off, so carts written while it was on stay complete.
+     */
+    public Mono<Cart> rehydrate(Cart cart) {
+        if (cart.getItems() == null) {
+            return Mono.just(cart);
+        }
+        Set<String> productIds = new LinkedHashSet<>();
+        for (CartItem item : cart.getItems()) {
+            if (item.getProductId() != null && isStripped(item)) {
+                productIds.add(item.getProductId());
+            }
+        }
+        if (productIds.isEmpty()) {
+            return Mono.just(cart);
+        }
+        return lookup(productIds).map(catalog -> {
+            for (CartItem item : cart.getItems()) {
+                ProductMetadata metadata = item.getProductId() != null ? catalog.get(item.getProductId()) : null;
+                if (metadata != null) {
+                    fill(item, metadata);
+                } else if (isStripped(item)) {
+                    LOG.warn("No catalog entry for product {} in cart {}", item.getProductId(), cart.getCustomerId());
+                }
+            }
+            return cart;
+        });
+    }
+
+    private Mono<Map<String, ProductMetadata>> lookup(Set<String> productIds) {
+        Map<String, ProductMetadata> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String productId : productIds) {
+            ProductMetadata metadata = entries.get(productId);
+            if (metadata != null) {
+                found.put(productId, metadata);
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Mono.just(found);
+        }
+        return hashOps.multiGet(CartKeys.CATALOG, missing).map(values -> {
+            for (int i = 0; i < missing.size(); i++) {
+                String value = values.get(i);
+                if (value != null) {
+                    ProductMetadata metadata = SERIALIZER.deserialize(value.getBytes(StandardCharsets.UTF_8));
+                    entries.put(missing.get(i), metadata);
+                    found.put(missing.get(i), metadata);
+                }
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Creates catalog entries for products seen for the first time. The HSETNX calls are issued together and
+     * pipeline on the shared connection. A product registered concurrently by another writer is left out of
+     * the result, so this cart keeps its metadata inline.
+     */
+    private Mono<Map<String, ProductMetadata>> register(Map<String, CartItem> byProduct, Map<String, ProductMetadata> found) {
+        if (found.size() == byProduct.size()) {
+            return Mono.just(found);
+        }
+        Map<String, ProductMetadata> candidates = new LinkedHashMap<>();
+        for (Map.Entry<String, CartItem> entry : byProduct.entrySet()) {
+            if (!found.containsKey(entry.getKey())) {
+                candidates.put(entry.getKey(), ProductMetadata.of(entry.getValue()));
+            }
+        }
+        return Flux.fromIterable(candidates.entrySet())
+                .flatMap(candidate -> hashOps.putIfAbsent(CartKeys.CATALOG, candidate.getKey(),
+                                new String(SERIALIZER.serialize(candidate.getValue()), StandardCharsets.UTF_8))
+                        .filter(Boolean::booleanValue)
+                        .map(created -> candidate))
+                .doOnNext(created -> {
+                    entries.put(created.getKey(), created.getValue());
+                    found.put(created.getKey(), created.getValue());
+                })
+                .then(Mono.just(found));
+    }
+
+    private static Cart strip(Cart cart, Map<String, ProductMetadata> catalog) {
+        List<CartItem> items = new ArrayList<>(cart.getItems().size());
+        for (CartItem item : cart.getItems()) {
+            ProductMetadata metadata = item.getProductId() != null ? catalog.get(item.getProductId()) : null;
+            if (metadata == null) {
+                items.add(item);
+                continue;
+            }
+            items.add(new CartItem(item.getProductId(), item.getSku(),
+                    Objects.equals(item.getTitle(), metadata.getTitle()) ? null : item.getTitle(),
+                    item.getCategory() == metadata.getCategory() ? null : item.getCategory(),
+                    item.getQuantity(), item.getPrice(),
+                    Objects.equals(item.getCurrency(), metadata.getCurrency()) ? null : item.getCurrency(),
+                    item.getGstCategory() == metadata.getGstCategory() ? null : item.getGstCategory(),
+                    item.getWeightGrams()));
+        }
+        return new Cart(cart.getCustomerId(), items, cart.getSubtotal(), cart.getTaxAmount(), cart.getTotal(),
+                cart.getCurrency(), cart.getShippingMethod(), cart.getShippingCost(), cart.getShippingPincode(), cart.getSupplyState(),
+                cart.getGstBreakdown());
+    }
+
+    private static boolean isStripped(CartItem item) {
+        return item.getTitle() == null || item.getCategory() == null
+                || item.getGstCategory() == null || item.getCurrency() == null;
+    }
+
+    private static void fill(CartItem item, ProductMetadata metadata) {
+        if (item.getTitle() == null) {
+            item.setTitle(metadata.getTitle());
+        }
+        if (item.getCategory() == null) {
+            item.setCategory(metadata.getCategory());
+        }
+        if (item.getGstCategory() == null) {
+            item.setGstCategory(metadata.getGstCategory());
+        }
+        if (item.getCurrency() == null) {
+            item.setCurrency(metadata.getCurrency());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.cart.catalog;
+
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product fields that are identical across carts and live once in the shared catalog.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductMetadata {
+    private String title;
+    private ProductCategory category;
+    private GSTCategory gstCategory;
+    private String currency;
+
+    public static ProductMetadata of(CartItem item) {
+        return new ProductMetadata(item.getTitle(), item.getCategory(), item.getGstCategory(), item.getCurrency());
+    }
+}
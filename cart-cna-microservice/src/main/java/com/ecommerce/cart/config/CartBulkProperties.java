@@ -0,0 +1,34 @@
+package com.ecommerce.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for streaming cart export and import.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.bulk")
+public class CartBulkProperties {
+
+    /** Carts read from Redis concurrently while exporting. */
+    private int exportConcurrency = 64;
+
+    /** Carts parsed and priced concurrently while importing; also bounds how far parsing runs ahead. */
+    private int maxInFlight = 128;
+
+    /** Priced carts whose writes are sent together while importing; a customer's carts are still written in line order. */
+    private int writeBatchSize = 128;
+
+    /** Longest accepted import line in bytes; longer lines are reported and skipped. */
+    private int maxLineBytes = 262144;
+
+    /** Maximum number of per-line problems listed in an import result; all of them are counted. */
+    private int maxReportedErrors = 100;
+
+    /** Times an imported cart is retried when large-cart processing is saturated before it is reported as retryable. */
+    private int overloadRetries = 5;
+
+    /** First delay before retrying an overloaded import line; doubles on each further attempt. */
+    private long overloadBackoffMs = 100;
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the in-process cart read cache and its warm-restart snapshot.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.cache")
+public class CartCacheProperties {
+
+    /** Serve cart reads from a local LRU cache, revalidated against the cart's sequence number. */
+    private boolean enabled = false;
+
+    /** Maximum number of carts held locally. */
+    private int maxEntries = 10000;
+
+    /** How long a cached cart is served before its sequence number is rechecked in Redis. */
+    private long ttlMs = 2000;
+
+    private Snapshot snapshot = new Snapshot();
+
+    @Data
+    public static class Snapshot {
+        /** Write recently used carts to a local file and pre-warm the cache from it on startup. */
+        private boolean enabled = false;
+
+        /** Location of the snapshot file. */
+        private String path = "/tmp/cart-snapshot.bin";
+
+        /** Interval between periodic snapshots; one is also taken on shutdown. */
+        private long intervalMs = 60000;
+
+        /** Maximum number of carts written to a snapshot, most recently used first. */
+        private int maxEntries = 10000;
+
+        /** Snapshots older than this are ignored on startup. */
+        private long maxAgeMs = 3600000;
+    }
+}
@@ -3,28 +3,52 @@ package com.ecommerce.cart.config;
 import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.ReactiveKeyCommands;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.ReactiveStringCommands;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.redis.CompressingRedisSerializer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 @Configuration
+@EnableConfigurationProperties({CartRedisProperties.class, HotKeyProperties.class, CartEventProperties.class,
+        CartCacheProperties.class, CartProcessingProperties.class, CartStorageProperties.class,
+        RateLimitProperties.class, CartBulkProperties.class, CartTracingProperties.class})
 public class CartConfig {
 
     @Autowired
     RedisConnectionFactory factory;
 
     @Bean
-	ReactiveRedisTemplate<String, Cart> redisOperations(ReactiveRedisConnectionFactory factory) {
-		Jackson2JsonRedisSerializer<Cart> serializer = new Jackson2JsonRedisSerializer<>(Cart.class);
+	ReactiveRedisTemplate<String, Cart> redisOperations(ReactiveRedisConnectionFactory factory,
+			CartRedisProperties properties, CartStorageProperties storageProperties, MeterRegistry meterRegistry) {
+		Jackson2JsonRedisSerializer<Cart> json = new Jackson2JsonRedisSerializer<>(Cart.class);
+		if (storageProperties.isNormalized()) {
+			// Fields left to the product catalog are omitted rather than written as nulls
+			json.setObjectMapper(new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL));
+		}
+
+		// Always wrap so previously compressed carts stay readable when compression is switched off
+		CartRedisProperties.Compression compression = properties.getCompression();
+		int threshold = compression.isEnabled() ? compression.getThresholdBytes() : Integer.MAX_VALUE;
+		RedisSerializer<Cart> serializer = new CompressingRedisSerializer<>(json, compression.getCodec(), threshold, meterRegistry);
 
 		RedisSerializationContext.RedisSerializationContextBuilder<String, Cart> builder =
 				RedisSerializationContext.newSerializationContext(new StringRedisSerializer());
@@ -35,16 +59,34 @@ public class CartConfig {
 	}
 
 
+    /**
+     * Bounded workers for large-cart processing; a full queue rejects work instead of growing without limit.
+     * Bounded elastic queues are per worker, so the configured total is split across the workers; work goes
+     * to the least busy one, which keeps the overall bound close to the configured capacity.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler cartProcessingScheduler(CartProcessingProperties properties) {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        int queuePerThread = Math.max(1, (properties.getQueueCapacity() + threads - 1) / threads);
+        return Schedulers.newBoundedElastic(threads, queuePerThread, "cart-processing");
+    }
+
+    /**
+     * Single reactive connection backing the low-level command beans, closed on shutdown.
+     */
+    @Bean(destroyMethod = "close")
+    public ReactiveRedisConnection reactiveRedisConnection(final ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+        return reactiveRedisConnectionFactory.getReactiveConnection();
+    }
+
     @Bean
-    public ReactiveKeyCommands keyCommands(final ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
-        return reactiveRedisConnectionFactory.getReactiveConnection()
-            .keyCommands();
+    public ReactiveKeyCommands keyCommands(final ReactiveRedisConnection reactiveRedisConnection) {
+        return reactiveRedisConnection.keyCommands();
     }
 
     @Bean
-    public ReactiveStringCommands stringCommands(final ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
-        return reactiveRedisConnectionFactory.getReactiveConnection()
-            .stringCommands();
+    public ReactiveStringCommands stringCommands(final ReactiveRedisConnection reactiveRedisConnection) {
+        return reactiveRedisConnection.stringCommands();
     }
 
 //    @PreDestroy
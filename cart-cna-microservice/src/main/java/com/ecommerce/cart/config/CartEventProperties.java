@@ -0,0 +1,30 @@
+package com.ecommerce.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.ecommerce.cart.redis.CartKeys;
+
+import lombok.Data;
+
+/**
+ * Settings for the cart mutation event stream and its consumers.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.events")
+public class CartEventProperties {
+
+    /** Append an event to the stream on every cart write and delete. */
+    private boolean enabled = true;
+
+    /** Redis Stream key the events are appended to. */
+    private String streamKey = CartKeys.INTERNAL_PREFIX + "events";
+
+    /** Approximate maximum number of events retained in the stream. */
+    private long maxLength = 100000;
+
+    /** Maximum events a consumer reads and acknowledges per round trip. */
+    private int batchSize = 500;
+
+    /** How long a consumer read waits for new events before polling again. */
+    private long blockMs = 2000;
+}
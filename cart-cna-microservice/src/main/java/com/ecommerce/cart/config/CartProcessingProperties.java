@@ -0,0 +1,22 @@
+package com.ecommerce.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for moving CPU-heavy processing of large carts off the Netty event loop.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.processing")
+public class CartProcessingProperties {
+
+    /** Carts with more items than this are processed on the bounded processing scheduler. */
+    private int offloadThresholdItems = 100;
+
+    /** Worker threads for large-cart processing; 0 uses one per core. */
+    private int threads = 0;
+
+    /** Large carts allowed to wait for a worker, across all workers, before new ones are rejected with 429. */
+    private int queueCapacity = 256;
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.ecommerce.cart.redis.CompressionCodec;
+
+import lombok.Data;
+
+/**
+ * Tuning knobs for how carts are stored in Redis.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.redis")
+public class CartRedisProperties {
+
+    private Compression compression = new Compression();
+
+    private Client client = new Client();
+
+    @Data
+    public static class Compression {
+        /** Compress stored cart values at or above the threshold. */
+        private boolean enabled = true;
+
+        /** Minimum serialized cart size in bytes before compression kicks in. */
+        private int thresholdBytes = 4096;
+
+        /** Codec used for new writes; values written with any codec remain readable. */
+        private CompressionCodec codec = CompressionCodec.LZ4;
+    }
+
+    @Data
+    public static class Client {
+        /** Netty event-loop (IO) threads; 0 keeps the Lettuce default of one per core. */
+        private int ioThreads = 0;
+
+        /** Threads for Lettuce's computation pool; 0 keeps the Lettuce default of one per core. */
+        private int computationThreads = 0;
+
+        /** Emit reactive signals on computation threads instead of the IO event loop. */
+        private boolean publishOnScheduler = false;
+
+        /** Batch flushes of concurrently issued commands on the shared connection. */
+        private boolean autoFlushBatching = true;
+
+        /** Upper bound of pending flushes before the batch is forced out. */
+        private int maxBatchedFlushes = 256;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for how carts are laid out in Redis.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.storage")
+public class CartStorageProperties {
+
+    /**
+     * Store carts without the product metadata kept in the shared catalog hash; items are rehydrated on read.
+     * Carts stored in either layout stay readable when this is switched.
+     */
+    private boolean normalized = false;
+
+    /** Maximum number of catalog entries cached on each replica. */
+    private int catalogCacheEntries = 50000;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for per-phase timing of cart requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.tracing")
+public class CartTracingProperties {
+
+    /** Time the phases of cart reads and writes. */
+    private boolean enabled = true;
+
+    /** Open a child span per phase for requests whose trace is sampled (see spring.sleuth.sampler). */
+    private boolean spansEnabled = true;
+
+    /** Requests taking at least this long are kept in the slow request log. */
+    private long slowThresholdMs = 250;
+
+    /** Number of recent slow requests kept. */
+    private int slowRequestCapacity = 128;
+}
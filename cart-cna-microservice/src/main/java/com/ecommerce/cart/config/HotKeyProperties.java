@@ -0,0 +1,37 @@
+package com.ecommerce.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for hot-key detection and local pinning of hot carts.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.hotkeys")
+public class HotKeyProperties {
+
+    /** Feed cart key accesses into the heavy-hitter sketch. */
+    private boolean enabled = true;
+
+    /** Hash rows of the count-min sketch. */
+    private int depth = 4;
+
+    /** Counters per row; rounded up to a power of two. */
+    private int width = 4096;
+
+    /** Number of hottest keys tracked and reported. */
+    private int topK = 32;
+
+    /** Length of a measurement window; rates are reported per completed window. */
+    private long windowMs = 10000;
+
+    /** Serve reads of hot keys from a short-lived local copy. */
+    private boolean pinEnabled = false;
+
+    /** Minimum accesses per second before a key is pinned. */
+    private double pinMinRate = 100.0;
+
+    /** How long a pinned copy may be served before it is re-read from Redis. */
+    private long pinTtlMs = 500;
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.cart.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for rate limiting in front of the cart endpoints.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart.ratelimit")
+public class RateLimitProperties {
+
+    /** Apply per-customer token buckets and the global concurrency limit to /cart requests. */
+    private boolean enabled = false;
+
+    /** Burst size of each customer's bucket, in requests. */
+    private double capacity = 20;
+
+    /** Sustained requests per second allowed per customer. */
+    private double refillPerSecond = 10;
+
+    /** Tokens taken per client address by a full cart listing, export or import, which cost far more than a single cart. */
+    private double listCost = 10;
+
+    /** Maximum number of customer buckets kept in memory; the least recently used are dropped. */
+    private int maxCustomers = 100000;
+
+    /** Number of independently locked stripes the buckets are spread over; rounded up to a power of two. */
+    private int stripes = 64;
+
+    private Cluster cluster = new Cluster();
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Cluster {
+        /** Keep customer buckets in Redis so the limit holds across replicas; falls back to local buckets on errors. */
+        private boolean enabled = false;
+
+        /** Idle buckets expire from Redis after this long. */
+        private long ttlMs = 60000;
+    }
+
+    @Data
+    public static class Concurrency {
+        /** Cap in-flight cart requests at a limit that shrinks as Redis latency rises. */
+        private boolean enabled = true;
+
+        private int initialLimit = 200;
+
+        private int minLimit = 20;
+
+        private int maxLimit = 2000;
+
+        /** How far recent latency may exceed the baseline before the limit starts shrinking. */
+        private double tolerance = 2.0;
+
+        /** Weight of each update in the limit, between 0 (frozen) and 1 (no smoothing). */
+        private double smoothing = 0.2;
+
+        /** Interval between limit updates from sampled Redis latency. */
+        private long updateIntervalMs = 100;
+    }
+}
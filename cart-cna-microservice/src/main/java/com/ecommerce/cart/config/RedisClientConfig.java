@@ -0,0 +1,226 @@
+package com.ecommerce.cart.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import com.ecommerce.cart.ratelimit.RedisLatencyRecorder;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.lettuce.core.resource.NettyCustomizer;
+import io.netty.channel.Channel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+
+/**
+ * Explicit Lettuce client setup.
+ * Request traffic shares one multiplexed connection; admin traffic (SCAN listings, snapshot validation)
+ * shares a second long-lived one, so a long SCAN never queues behind (or in front of) cart reads and writes.
+ * Neither factory opens a connection per command. Blocking commands such as XREADGROUP with BLOCK are
+ * routed by Spring to a dedicated connection of the {@code ReactiveRedisConnection} that issues them;
+ * callers that block repeatedly hold one connection open rather than going through a template.
+ * Defining these factories switches off Boot's own, so both are built from the full {@code spring.redis.*}
+ * settings (URL, SSL, credentials, client name, sentinel and cluster) just as Boot would build them.
+ */
+@Configuration
+public class RedisClientConfig {
+
+    private static final Duration DEFAULT_COMMAND_TIMEOUT = Duration.ofSeconds(2);
+
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(CartRedisProperties properties, RedisLatencyRecorder latencyRecorder) {
+        CartRedisProperties.Client client = properties.getClient();
+        DefaultClientResources.Builder builder = DefaultClientResources.builder()
+                .commandLatencyRecorder(latencyRecorder);
+        if (client.getIoThreads() > 0) {
+            builder.ioThreadPoolSize(client.getIoThreads());
+        }
+        if (client.getComputationThreads() > 0) {
+            builder.computationThreadPoolSize(client.getComputationThreads());
+        }
+        if (client.isAutoFlushBatching()) {
+            int flushLimit = client.getMaxBatchedFlushes();
+            builder.nettyCustomizer(new NettyCustomizer() {
+                @Override
+                public void afterChannelInitialized(Channel channel) {
+                    // Coalesce the per-command flushes of concurrent requests into fewer socket writes
+                    channel.pipeline().addFirst(new FlushConsolidationHandler(flushLimit, true));
+                }
+            });
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @Primary
+    public LettuceConnectionFactory redisConnectionFactory(RedisProperties redisProperties,
+                                                           CartRedisProperties properties,
+                                                           ClientResources clientResources,
+                                                           ObjectProvider<LettuceClientConfigurationBuilderCustomizer> customizers) {
+        return connectionFactory(redisProperties, properties, clientResources, customizers);
+    }
+
+    @Bean
+    public LettuceConnectionFactory adminRedisConnectionFactory(RedisProperties redisProperties,
+                                                                CartRedisProperties properties,
+                                                                ClientResources clientResources,
+                                                                ObjectProvider<LettuceClientConfigurationBuilderCustomizer> customizers) {
+        return connectionFactory(redisProperties, properties, clientResources, customizers);
+    }
+
+    /**
+     * Key-only template on the admin connection, for SCAN-style maintenance and listing.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, String> adminRedisTemplate(
+            @Qualifier("adminRedisConnectionFactory") LettuceConnectionFactory adminRedisConnectionFactory) {
+        return new ReactiveRedisTemplate<>(adminRedisConnectionFactory, RedisSerializationContext.string());
+    }
+
+    private LettuceConnectionFactory connectionFactory(RedisProperties redisProperties,
+                                                       CartRedisProperties properties,
+                                                       ClientResources clientResources,
+                                                       ObjectProvider<LettuceClientConfigurationBuilderCustomizer> customizers) {
+        RedisConfiguration configuration = connectionConfiguration(redisProperties);
+        LettuceClientConfiguration clientConfiguration = clientConfiguration(redisProperties, properties, clientResources, customizers);
+        LettuceConnectionFactory factory;
+        if (configuration instanceof RedisSentinelConfiguration) {
+            factory = new LettuceConnectionFactory((RedisSentinelConfiguration) configuration, clientConfiguration);
+        } else if (configuration instanceof RedisClusterConfiguration) {
+            factory = new LettuceConnectionFactory((RedisClusterConfiguration) configuration, clientConfiguration);
+        } else {
+            factory = new LettuceConnectionFactory((RedisStandaloneConfiguration) configuration, clientConfiguration);
+        }
+        factory.setShareNativeConnection(true);
+        return factory;
+    }
+
+    /**
+     * Where to connect, resolved from {@code spring.redis.*} the way Boot's auto-configuration does:
+     * sentinel, then cluster, then a standalone server given by URL or host and port.
+     */
+    private static RedisConfiguration connectionConfiguration(RedisProperties redisProperties) {
+        RedisProperties.Sentinel sentinel = redisProperties.getSentinel();
+        if (sentinel != null) {
+            RedisSentinelConfiguration configuration = new RedisSentinelConfiguration();
+            configuration.master(sentinel.getMaster());
+            configuration.setSentinels(nodes(sentinel.getNodes()));
+            configuration.setUsername(redisProperties.getUsername());
+            configuration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+            configuration.setSentinelUsername(sentinel.getUsername());
+            configuration.setSentinelPassword(RedisPassword.of(sentinel.getPassword()));
+            configuration.setDatabase(redisProperties.getDatabase());
+            return configuration;
+        }
+        RedisProperties.Cluster cluster = redisProperties.getCluster();
+        if (cluster != null) {
+            RedisClusterConfiguration configuration = new RedisClusterConfiguration(cluster.getNodes());
+            if (cluster.getMaxRedirects() != null) {
+                configuration.setMaxRedirects(cluster.getMaxRedirects());
+            }
+            configuration.setUsername(redisProperties.getUsername());
+            configuration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+            return configuration;
+        }
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration();
+        if (redisProperties.getUrl() != null) {
+            URI uri = URI.create(redisProperties.getUrl());
+            configuration.setHostName(uri.getHost());
+            configuration.setPort(uri.getPort() > 0 ? uri.getPort() : redisProperties.getPort());
+            String userInfo = uri.getUserInfo();
+            if (userInfo != null) {
+                int separator = userInfo.indexOf(':');
+                configuration.setUsername(separator >= 0 ? userInfo.substring(0, separator) : null);
+                configuration.setPassword(RedisPassword.of(separator >= 0 ? userInfo.substring(separator + 1) : userInfo));
+            }
+        } else {
+            configuration.setHostName(redisProperties.getHost());
+            configuration.setPort(redisProperties.getPort());
+            configuration.setUsername(redisProperties.getUsername());
+            configuration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+        }
+        configuration.setDatabase(redisProperties.getDatabase());
+        return configuration;
+    }
+
+    private static List<RedisNode> nodes(List<String> nodes) {
+        List<RedisNode> redisNodes = new ArrayList<>(nodes.size());
+        for (String node : nodes) {
+            int separator = node.lastIndexOf(':');
+            redisNodes.add(new RedisNode(node.substring(0, separator), Integer.parseInt(node.substring(separator + 1))));
+        }
+        return redisNodes;
+    }
+
+    private static LettuceClientConfiguration clientConfiguration(RedisProperties redisProperties,
+                                                                  CartRedisProperties properties,
+                                                                  ClientResources clientResources,
+                                                                  ObjectProvider<LettuceClientConfigurationBuilderCustomizer> customizers) {
+        Duration timeout = redisProperties.getTimeout() != null ? redisProperties.getTimeout() : DEFAULT_COMMAND_TIMEOUT;
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .clientOptions(clientOptions(redisProperties, properties))
+                .commandTimeout(timeout);
+        if (redisProperties.isSsl() || (redisProperties.getUrl() != null && redisProperties.getUrl().startsWith("rediss://"))) {
+            builder.useSsl();
+        }
+        if (redisProperties.getClientName() != null) {
+            builder.clientName(redisProperties.getClientName());
+        }
+        Duration shutdownTimeout = redisProperties.getLettuce().getShutdownTimeout();
+        if (shutdownTimeout != null && !shutdownTimeout.isZero()) {
+            builder.shutdownTimeout(shutdownTimeout);
+        }
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder.build();
+    }
+
+    private static ClientOptions clientOptions(RedisProperties redisProperties, CartRedisProperties properties) {
+        ClientOptions.Builder builder;
+        if (redisProperties.getCluster() != null) {
+            RedisProperties.Lettuce.Cluster.Refresh refresh = redisProperties.getLettuce().getCluster().getRefresh();
+            ClusterTopologyRefreshOptions.Builder refreshBuilder = ClusterTopologyRefreshOptions.builder()
+                    .dynamicRefreshSources(refresh.isDynamicRefreshSources());
+            if (refresh.getPeriod() != null) {
+                refreshBuilder.enablePeriodicRefresh(refresh.getPeriod());
+            }
+            if (refresh.isAdaptive()) {
+                refreshBuilder.enableAllAdaptiveRefreshTriggers();
+            }
+            builder = ClusterClientOptions.builder().topologyRefreshOptions(refreshBuilder.build());
+        } else {
+            builder = ClientOptions.builder();
+        }
+        if (redisProperties.getConnectTimeout() != null) {
+            builder.socketOptions(SocketOptions.builder().connectTimeout(redisProperties.getConnectTimeout()).build());
+        }
+        return builder.timeoutOptions(TimeoutOptions.enabled())
+                .autoReconnect(true)
+                .publishOnScheduler(properties.getClient().isPublishOnScheduler())
+                .build();
+    }
+}
@@ -1,6 +1,9 @@
 package com.ecommerce.cart.controller;
 
 import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartImportResult;
+import com.ecommerce.cart.ratelimit.CustomerRateLimitedException;
+import com.ecommerce.cart.service.CartProjection;
 import com.ecommerce.cart.service.CartService;
 import com.ecommerce.cart.service.TaxCalculationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,7 +16,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -36,26 +45,55 @@ public class CartController {
     }
 
     @GetMapping("/cart")
-    @Operation(summary = "List all carts", description = "Retrieves all shopping carts from the database")
+    @Operation(summary = "List all carts", description = "Retrieves all shopping carts from the database, optionally projected to a view or a set of fields")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "List of all carts", 
-                content = @Content(schema = @Schema(implementation = Cart.class)))
+                content = @Content(schema = @Schema(implementation = Cart.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown view or field requested",
+                content = @Content)
     })
-    public Flux<Cart> listCartData() {
-        return cartService.listCartData();
+    public Flux<?> listCartData(@Parameter(description = "Predefined view: summary, totals or items") @RequestParam(required = false) String view,
+                                @Parameter(description = "Comma-separated cart fields to return, e.g. itemCount,total") @RequestParam(required = false) String fields) {
+        CartProjection projection = projection(view, fields);
+        return projection == null ? cartService.listCartData() : cartService.listCartProjections(projection);
     }
 
 
+    @GetMapping(value = "/cart/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all carts", description = "Streams every cart as newline-delimited JSON, reading from Redis only as fast as the client consumes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "One cart per line",
+                content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Cart.class)))
+    })
+    public Flux<Cart> exportCarts() {
+        return cartService.exportCarts();
+    }
+
+    @PostMapping(value = "/cart/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import carts", description = "Stores carts from newline-delimited JSON, validating and recalculating GST and shipping for each; bad lines are reported without stopping the import")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import counts and the first problems found",
+                content = @Content(schema = @Schema(implementation = CartImportResult.class)))
+    })
+    public Mono<CartImportResult> importCarts(@RequestBody Flux<DataBuffer> body) {
+        return cartService.importNdjson(body);
+    }
+
     @GetMapping("/cart/{customerId}")
-    @Operation(summary = "Get cart by customer ID", description = "Retrieves a specific shopping cart by customer ID")
+    @Operation(summary = "Get cart by customer ID", description = "Retrieves a specific shopping cart by customer ID, optionally projected to a view or a set of fields")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Found the cart", 
                 content = @Content(schema = @Schema(implementation = Cart.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown view or field requested",
+                content = @Content),
         @ApiResponse(responseCode = "404", description = "Cart not found", 
                 content = @Content)
     })
-    public Mono<Cart> getCartById(@Parameter(description = "ID of the customer to retrieve cart for me") @PathVariable String customerId) {
-        return cartService.getCartById(customerId);
+    public Mono<?> getCartById(@Parameter(description = "ID of the customer to retrieve cart for me") @PathVariable String customerId,
+                               @Parameter(description = "Predefined view: summary, totals or items") @RequestParam(required = false) String view,
+                               @Parameter(description = "Comma-separated cart fields to return, e.g. itemCount,total") @RequestParam(required = false) String fields) {
+        CartProjection projection = projection(view, fields);
+        return projection == null ? cartService.getCartById(customerId) : cartService.getCartProjection(customerId, projection);
     }
 
     @PostMapping("/cart")
@@ -64,12 +102,27 @@ public class CartController {
         @ApiResponse(responseCode = "200", description = "Cart created or updated successfully with tax calculations", 
                 content = @Content),
         @ApiResponse(responseCode = "400", description = "Invalid cart data supplied", 
+                content = @Content),
+        @ApiResponse(responseCode = "429", description = "Too many requests for this customer, retry after the Retry-After delay",
                 content = @Content)
     })
     Mono<Void> addOrModifyCartItem(@RequestBody Mono<Cart> cart) {
         return cartService.addOrModifyCartItem(cart);
     }
 
+    @PostMapping("/cart/{customerId}/merge")
+    @Operation(summary = "Merge guest cart into customer cart", description = "Atomically combines the guest cart into the customer's cart by productId, recalculates GST and deletes the guest cart")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Merged cart",
+                content = @Content(schema = @Schema(implementation = Cart.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid customer or guest ID supplied",
+                content = @Content)
+    })
+    public Mono<Cart> mergeCart(@Parameter(description = "ID of the customer whose cart receives the items") @PathVariable String customerId,
+                                @Parameter(description = "ID of the guest cart to merge and delete") @RequestParam("from") String guestId) {
+        return cartService.mergeCarts(customerId, guestId);
+    }
+
     @GetMapping("/cart/{customerId}/tax-breakdown")
     @Operation(summary = "Get tax breakdown for cart", description = "Retrieves detailed GST tax breakdown for a specific cart")
     @ApiResponses(value = {
@@ -78,8 +131,26 @@ public class CartController {
         @ApiResponse(responseCode = "404", description = "Cart not found", 
                 content = @Content)
     })
-    public Mono<TaxCalculationService.TaxBreakdown> getTaxBreakdown(@Parameter(description = "ID of the customer to get tax breakdown for") @PathVariable String customerId) {
+    public Mono<TaxCalculationService.TaxBreakdown> getTaxBreakdown(@Parameter(description = "ID of the customer to get tax breakdown for") @PathVariable String customerId,
+                                                                    @Parameter(description = "State code of the place of supply, defaults to the one stored with the cart", example = "KA")
+                                                                    @RequestParam(required = false) String supplyState) {
         return cartService.getCartById(customerId)
-                .map(cart -> taxCalculationService.calculateTaxForCart(cart));
+                .map(cart -> taxCalculationService.calculateTaxForCart(cart,
+                        supplyState != null ? supplyState : cart.getSupplyState()));
+    }
+
+    @ExceptionHandler(CustomerRateLimitedException.class)
+    ResponseEntity<Void> customerRateLimited(CustomerRateLimitedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .build();
+    }
+
+    private CartProjection projection(String view, String fields) {
+        try {
+            return CartProjection.of(view, fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
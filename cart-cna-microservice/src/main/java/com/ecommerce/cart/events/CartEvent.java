@@ -0,0 +1,53 @@
+package com.ecommerce.cart.events;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A cart mutation as read back from the event stream.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartEvent {
+
+    public enum Operation { SET, DEL }
+
+    /** Stream entry ID, used for acknowledgement. */
+    private String id;
+
+    private String customerId;
+
+    private Operation operation;
+
+    /** Per-cart sequence number; increases with every write or delete of the cart. */
+    private long sequence;
+
+    private int itemCount;
+
+    private float total;
+
+    /**
+     * Decodes a stream entry.
+     *
+     * @throws IllegalArgumentException if the entry has no body, as pending entries trimmed from the
+     *         stream do, or a field is missing or malformed
+     */
+    static CartEvent fromFields(String id, Map<String, String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            throw new IllegalArgumentException("entry " + id + " has no fields");
+        }
+        if (fields.get("c") == null || fields.get("op") == null || fields.get("seq") == null) {
+            throw new IllegalArgumentException("entry " + id + " is missing fields: " + fields.keySet());
+        }
+        return new CartEvent(id,
+                fields.get("c"),
+                Operation.valueOf(fields.get("op")),
+                Long.parseLong(fields.get("seq")),
+                Integer.parseInt(fields.getOrDefault("n", "0")),
+                Float.parseFloat(fields.getOrDefault("t", "0")));
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.cart.events;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveStreamCommands;
+import org.springframework.data.redis.connection.stream.ByteBufferRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.CartEventProperties;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Reusable consumer-group reader for the cart event stream.
+ * Events are read and handed to the handler in batches, and each batch is acknowledged with a single
+ * XACK once the handler completes, so throughput scales with batch size rather than per-event round trips.
+ * Entries that cannot be decoded, such as pending entries whose body was trimmed from the stream, are logged
+ * and acknowledged with their batch instead of being redelivered forever.
+ * Reads block server-side, so each subscription holds one admin connection for its lifetime: its blocking
+ * reads reuse that connection's dedicated Redis connection, and acknowledgements go over the shared admin one.
+ */
+@Component
+public class CartEventConsumer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CartEventConsumer.class);
+
+    private static final RedisSerializer<String> SERIALIZER = RedisSerializer.string();
+
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final CartEventProperties properties;
+
+    public CartEventConsumer(@Qualifier("adminRedisConnectionFactory") ReactiveRedisConnectionFactory connectionFactory,
+                             CartEventProperties properties) {
+        this.connectionFactory = connectionFactory;
+        this.properties = properties;
+    }
+
+    /**
+     * Starts consuming as a member of the given group. Events left pending by a previous run of the
+     * same consumer are redelivered first. A failing handler leaves its batch unacknowledged and the
+     * consumer resumes with backoff.
+     */
+    public Disposable subscribe(String group, String consumerName, Function<List<CartEvent>, Mono<Void>> handler) {
+        Consumer consumer = Consumer.from(group, consumerName);
+        return Flux.usingWhen(Mono.fromSupplier(connectionFactory::getReactiveConnection),
+                        connection -> consume(connection.streamCommands(), consumer, handler),
+                        ReactiveRedisConnection::closeLater)
+                .doOnError(e -> LOG.warn("Cart event consumer {}/{} failed, retrying", group, consumerName, e))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    private Flux<Integer> consume(ReactiveStreamCommands streamCommands, Consumer consumer,
+                                  Function<List<CartEvent>, Mono<Void>> handler) {
+        StreamReadOptions pendingOptions = StreamReadOptions.empty().count(properties.getBatchSize());
+        StreamReadOptions liveOptions = pendingOptions.block(Duration.ofMillis(properties.getBlockMs()));
+
+        Flux<Integer> pending = Flux.defer(() -> readBatch(streamCommands, consumer, pendingOptions, ReadOffset.from("0"), handler))
+                .repeat()
+                .takeWhile(processed -> processed > 0);
+        Flux<Integer> live = Flux.defer(() -> readBatch(streamCommands, consumer, liveOptions, ReadOffset.lastConsumed(), handler))
+                .repeat();
+        return ensureGroup(streamCommands, consumer.getGroup()).thenMany(pending.concatWith(live));
+    }
+
+    private Mono<Integer> readBatch(ReactiveStreamCommands streamCommands, Consumer consumer, StreamReadOptions options,
+                                    ReadOffset offset, Function<List<CartEvent>, Mono<Void>> handler) {
+        ReactiveStreamCommands.ReadCommand read = ReactiveStreamCommands.ReadCommand
+                .from(StreamOffset.create(streamKey(), offset))
+                .withOptions(options)
+                .as(consumer);
+        return streamCommands.read(Mono.just(read))
+                .concatMap(ReactiveRedisConnection.CommandResponse::getOutput)
+                .collectList()
+                .flatMap(records -> {
+                    if (records.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    List<CartEvent> batch = new ArrayList<>(records.size());
+                    for (ByteBufferRecord record : records) {
+                        CartEvent event = decode(record);
+                        if (event != null) {
+                            batch.add(event);
+                        }
+                    }
+                    String[] ids = records.stream().map(record -> record.getId().getValue()).toArray(String[]::new);
+                    return (batch.isEmpty() ? Mono.<Void>empty() : handler.apply(batch))
+                            .then(streamCommands.xAck(streamKey(), consumer.getGroup(), ids))
+                            .thenReturn(records.size());
+                });
+    }
+
+    private static CartEvent decode(ByteBufferRecord record) {
+        String id = record.getId().getValue();
+        try {
+            return CartEvent.fromFields(id, record.deserialize(SERIALIZER).getValue());
+        } catch (RuntimeException e) {
+            LOG.warn("Skipping undecodable cart event {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private Mono<Void> ensureGroup(ReactiveStreamCommands streamCommands, String group) {
+        return streamCommands.xGroupCreate(streamKey(), group, ReadOffset.from("0"), true)
+                .then()
+                .onErrorResume(RedisSystemException.class, e -> isBusyGroup(e) ? Mono.empty() : Mono.error(e));
+    }
+
+    private ByteBuffer streamKey() {
+        return ByteBuffer.wrap(SERIALIZER.serialize(properties.getStreamKey()));
+    }
+
+    private static boolean isBusyGroup(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("BUSYGROUP")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
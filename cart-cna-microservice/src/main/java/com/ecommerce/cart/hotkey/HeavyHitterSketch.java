@@ -0,0 +1,196 @@
+package com.ecommerce.cart.hotkey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-memory heavy-hitter sketch: a count-min sketch for frequency estimates plus a small top-K table.
+ * Counting is lock-free; the top-K table is only touched by keys whose estimate beats the current
+ * K-th entry, and contenders skip the update instead of waiting for the lock.
+ */
+public class HeavyHitterSketch {
+
+    private final int depth;
+    private final int width;
+    private final int widthMask;
+    private final AtomicLongArray counters;
+
+    private final String[] topKeys;
+    private final int[] topHashes;
+    private final long[] topCounts;
+    private final ReentrantLock topLock = new ReentrantLock();
+    private int topSize;
+    private volatile long admissionThreshold;
+
+    /**
+     * @param depth number of hash rows
+     * @param width counters per row, rounded up to a power of two
+     * @param capacity number of heavy hitters tracked
+     */
+    public HeavyHitterSketch(int depth, int width, int capacity) {
+        if (depth < 1 || width < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Sketch depth, width and capacity must be positive");
+        }
+        this.depth = depth;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.widthMask = this.width - 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+        this.topKeys = new String[capacity];
+        this.topHashes = new int[capacity];
+        this.topCounts = new long[capacity];
+    }
+
+    /**
+     * Counts one occurrence of the key and returns its estimated frequency.
+     */
+    public long add(String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x85EBCA6B) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            long count = counters.incrementAndGet(row * width + ((h1 + row * h2) & widthMask));
+            if (count < estimate) {
+                estimate = count;
+            }
+        }
+        // Keys already in the table need no bookkeeping: their counts are re-read from the sketch
+        if (estimate > admissionThreshold && !isTracked(key, h1)) {
+            offer(key, h1, estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the estimated frequency of the key without counting it.
+     */
+    public long estimate(String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x85EBCA6B) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + ((h1 + row * h2) & widthMask)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Current heavy hitters, highest count first.
+     */
+    public List<Entry> topK() {
+        List<Entry> entries = new ArrayList<>();
+        topLock.lock();
+        try {
+            for (int i = 0; i < topSize; i++) {
+                entries.add(new Entry(topKeys[i], estimate(topKeys[i])));
+            }
+        } finally {
+            topLock.unlock();
+        }
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return entries;
+    }
+
+    /**
+     * Clears all counts, starting a new measurement window.
+     */
+    public void reset() {
+        topLock.lock();
+        try {
+            for (int i = 0; i < counters.length(); i++) {
+                counters.set(i, 0L);
+            }
+            for (int i = 0; i < topSize; i++) {
+                topKeys[i] = null;
+                topHashes[i] = 0;
+                topCounts[i] = 0L;
+            }
+            topSize = 0;
+            admissionThreshold = 0L;
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    /**
+     * Racy, lock-free membership check; a stale answer only costs an extra {@link #offer} call.
+     */
+    private boolean isTracked(String key, int hash) {
+        for (int i = 0; i < topHashes.length; i++) {
+            if (topHashes[i] == hash && key.equals(topKeys[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void offer(String key, int hash, long count) {
+        if (!topLock.tryLock()) {
+            return;
+        }
+        try {
+            int minIndex = -1;
+            for (int i = 0; i < topSize; i++) {
+                if (topKeys[i].equals(key)) {
+                    return;
+                }
+                topCounts[i] = estimate(topKeys[i]);
+                if (minIndex < 0 || topCounts[i] < topCounts[minIndex]) {
+                    minIndex = i;
+                }
+            }
+            if (topSize < topKeys.length) {
+                minIndex = topSize++;
+            } else if (count <= topCounts[minIndex]) {
+                admissionThreshold = minCount();
+                return;
+            }
+            topKeys[minIndex] = key;
+            topHashes[minIndex] = hash;
+            topCounts[minIndex] = count;
+            admissionThreshold = minCount();
+        } finally {
+            topLock.unlock();
+        }
+    }
+
+    private long minCount() {
+        if (topSize < topKeys.length) {
+            return 0L;
+        }
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < topSize; i++) {
+            min = Math.min(min, topCounts[i]);
+        }
+        return min;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x7FEB352D;
+        h ^= h >>> 15;
+        h *= 0x846CA68B;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    public static class Entry {
+        private final String key;
+        private final long count;
+
+        public Entry(String key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
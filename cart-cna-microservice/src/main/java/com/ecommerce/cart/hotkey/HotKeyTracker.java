@@ -0,0 +1,111 @@
+package com.ecommerce.cart.hotkey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.HotKeyProperties;
+
+/**
+ * Tracks the most frequently accessed cart keys in fixed-size measurement windows.
+ */
+@Component
+public class HotKeyTracker {
+
+    private final HotKeyProperties properties;
+    private final HeavyHitterSketch sketch;
+
+    private volatile long windowStartNanos = System.nanoTime();
+    private volatile List<HotKey> lastWindow = Collections.emptyList();
+    private volatile Set<String> pinnableKeys = Collections.emptySet();
+
+    public HotKeyTracker(HotKeyProperties properties) {
+        this.properties = properties;
+        this.sketch = new HeavyHitterSketch(properties.getDepth(), properties.getWidth(), properties.getTopK());
+    }
+
+    /**
+     * Records one access to a cart key.
+     */
+    public void record(String key) {
+        if (properties.isEnabled() && key != null) {
+            sketch.add(key);
+        }
+    }
+
+    /**
+     * Whether the key was hot enough in the last window to be served from a local copy.
+     */
+    public boolean isPinnable(String key) {
+        return pinnableKeys.contains(key);
+    }
+
+    /**
+     * Hottest keys of the last completed window with their access rates.
+     */
+    public List<HotKey> lastWindow() {
+        return lastWindow;
+    }
+
+    /**
+     * Hottest keys of the window in progress, with rates measured so far.
+     */
+    public List<HotKey> currentWindow() {
+        return toHotKeys(sketch.topK(), System.nanoTime() - windowStartNanos);
+    }
+
+    @Scheduled(fixedRateString = "${cart.hotkeys.window-ms:10000}")
+    public void rollWindow() {
+        long now = System.nanoTime();
+        List<HotKey> completed = toHotKeys(sketch.topK(), now - windowStartNanos);
+        sketch.reset();
+        windowStartNanos = now;
+
+        Set<String> pinnable = new HashSet<>();
+        for (HotKey hotKey : completed) {
+            if (hotKey.getRatePerSecond() >= properties.getPinMinRate()) {
+                pinnable.add(hotKey.getKey());
+            }
+        }
+        lastWindow = Collections.unmodifiableList(completed);
+        pinnableKeys = Collections.unmodifiableSet(pinnable);
+    }
+
+    private static List<HotKey> toHotKeys(List<HeavyHitterSketch.Entry> entries, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1L) / 1_000_000_000.0;
+        List<HotKey> hotKeys = new ArrayList<>(entries.size());
+        for (HeavyHitterSketch.Entry entry : entries) {
+            hotKeys.add(new HotKey(entry.getKey(), entry.getCount(), entry.getCount() / seconds));
+        }
+        return hotKeys;
+    }
+
+    public static class HotKey {
+        private final String key;
+        private final long count;
+        private final double ratePerSecond;
+
+        public HotKey(String key, long count, double ratePerSecond) {
+            this.key = key;
+            this.count = count;
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.cart.hotkey;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint reporting the hottest cart keys: {@code /actuator/hotkeys}.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+    private final PinnedCartCache pinnedCartCache;
+
+    public HotKeysEndpoint(HotKeyTracker hotKeyTracker, PinnedCartCache pinnedCartCache) {
+        this.hotKeyTracker = hotKeyTracker;
+        this.pinnedCartCache = pinnedCartCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("lastWindow", describe(hotKeyTracker.lastWindow()));
+        report.put("currentWindow", describe(hotKeyTracker.currentWindow()));
+        return report;
+    }
+
+    private List<Map<String, Object>> describe(List<HotKeyTracker.HotKey> hotKeys) {
+        return hotKeys.stream().map(hotKey -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("key", hotKey.getKey());
+            entry.put("count", hotKey.getCount());
+            entry.put("ratePerSecond", Math.round(hotKey.getRatePerSecond() * 10.0) / 10.0);
+            entry.put("pinned", pinnedCartCache.isPinned(hotKey.getKey()));
+            return entry;
+        }).collect(Collectors.toList());
+    }
+}
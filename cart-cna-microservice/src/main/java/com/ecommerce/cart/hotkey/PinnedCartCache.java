@@ -0,0 +1,77 @@
+package com.ecommerce.cart.hotkey;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.HotKeyProperties;
+import com.ecommerce.cart.model.Cart;
+
+/**
+ * Short-lived local copies of the hottest carts.
+ * Only keys the {@link HotKeyTracker} currently reports as hot are admitted, so the cache is bounded
+ * by the top-K size; entries expire after a short TTL to limit staleness across replicas.
+ */
+@Component
+public class PinnedCartCache {
+
+    private final HotKeyProperties properties;
+    private final HotKeyTracker hotKeyTracker;
+    private final Map<String, Pinned> pinned = new ConcurrentHashMap<>();
+
+    public PinnedCartCache(HotKeyProperties properties, HotKeyTracker hotKeyTracker) {
+        this.properties = properties;
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    public Cart get(String customerId) {
+        if (!properties.isPinEnabled()) {
+            return null;
+        }
+        Pinned entry = pinned.get(customerId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAtNanos > 0 || !hotKeyTracker.isPinnable(customerId)) {
+            pinned.remove(customerId, entry);
+            return null;
+        }
+        return entry.cart;
+    }
+
+    public void put(String customerId, Cart cart) {
+        if (properties.isPinEnabled() && hotKeyTracker.isPinnable(customerId)) {
+            long ttl = TimeUnit.MILLISECONDS.toNanos(properties.getPinTtlMs());
+            pinned.put(customerId, new Pinned(cart, System.nanoTime() + ttl));
+        }
+    }
+
+    public void invalidate(String customerId) {
+        pinned.remove(customerId);
+    }
+
+    /**
+     * Drops copies of keys that have cooled down, keeping the cache bounded by the current hot set.
+     */
+    @Scheduled(fixedRateString = "${cart.hotkeys.window-ms:10000}")
+    public void evictCold() {
+        pinned.keySet().removeIf(customerId -> !hotKeyTracker.isPinnable(customerId));
+    }
+
+    public boolean isPinned(String customerId) {
+        return pinned.containsKey(customerId);
+    }
+
+    private static final class Pinned {
+        private final Cart cart;
+        private final long expiresAtNanos;
+
+        private Pinned(Cart cart, long expiresAtNanos) {
+            this.cart = cart;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -38,4 +38,22 @@ public class Cart {
     
     @Schema(description = "Shipping cost", example = "99.0")
     private float shippingCost;
+
+    @Schema(description = "Destination pincode used to price shipping", example = "560001")
+    private String shippingPincode;
+
+    @Schema(description = "State code of the place of supply, decides CGST/SGST vs IGST", example = "KA")
+    private String supplyState;
+
+    @Schema(description = "Slab-wise GST breakdown computed with the cart totals")
+    private GstBreakdown gstBreakdown;
+
+    public Cart(String customerId, List<CartItem> items, float subtotal, float taxAmount, float total, String currency) {
+        this(customerId, items, subtotal, taxAmount, total, currency, null, 0.0f);
+    }
+
+    public Cart(String customerId, List<CartItem> items, float subtotal, float taxAmount, float total, String currency,
+                String shippingMethod, float shippingCost) {
+        this(customerId, items, subtotal, taxAmount, total, currency, shippingMethod, shippingCost, null, null, null);
+    }
 }
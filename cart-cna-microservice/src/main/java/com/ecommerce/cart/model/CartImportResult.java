@@ -0,0 +1,29 @@
+package com.ecommerce.cart.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Outcome of a bulk cart import")
+public class CartImportResult {
+
+    @Schema(description = "Carts priced and stored", example = "49998")
+    private long imported;
+
+    @Schema(description = "Lines skipped because they were malformed or failed validation", example = "1")
+    private long rejected;
+
+    @Schema(description = "Valid carts that could not be stored", example = "1")
+    private long failed;
+
+    @Schema(description = "Valid carts not stored because the service was overloaded; importing them again is safe", example = "0")
+    private long retryable;
+
+    @Schema(description = "First problems encountered, prefixed with their line number")
+    private List<String> errors = new ArrayList<>();
+}
@@ -33,4 +33,12 @@ public class CartItem  {
     
     @Schema(description = "GST category for tax calculation")
     private GSTCategory gstCategory;
+
+    @Schema(description = "Shipping weight per unit in grams; 0 uses the default item weight", example = "750")
+    private int weightGrams;
+
+    public CartItem(String productId, String sku, String title, ProductCategory category, int quantity, float price,
+                    String currency, GSTCategory gstCategory) {
+        this(productId, sku, title, category, quantity, price, currency, gstCategory, 0);
+    }
 }
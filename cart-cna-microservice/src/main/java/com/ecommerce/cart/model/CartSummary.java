@@ -0,0 +1,52 @@
+package com.ecommerce.cart.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Compact cart summary stored alongside each cart for badge and header views")
+public class CartSummary {
+    @Schema(description = "Customer ID associated with the cart", example = "customer123")
+    private String customerId;
+
+    @Schema(description = "Number of distinct items in the cart", example = "2")
+    private int itemCount;
+
+    @Schema(description = "Total quantity across all items", example = "3")
+    private int totalQuantity;
+
+    @Schema(description = "Subtotal price of all items before tax", example = "145.0")
+    private float subtotal;
+
+    @Schema(description = "Total tax amount (GST)", example = "26.1")
+    private float taxAmount;
+
+    @Schema(description = "Total price including tax", example = "171.1")
+    private float total;
+
+    @Schema(description = "Currency for the cart", example = "INR")
+    private String currency;
+
+    @Schema(description = "Shipping method selected", example = "standard")
+    private String shippingMethod;
+
+    @Schema(description = "Shipping cost", example = "99.0")
+    private float shippingCost;
+
+    public static CartSummary of(Cart cart) {
+        int itemCount = 0;
+        int totalQuantity = 0;
+        if (cart.getItems() != null) {
+            itemCount = cart.getItems().size();
+            for (CartItem item : cart.getItems()) {
+                totalQuantity += item.getQuantity();
+            }
+        }
+        return new CartSummary(cart.getCustomerId(), itemCount, totalQuantity, cart.getSubtotal(), cart.getTaxAmount(),
+                cart.getTotal(), cart.getCurrency(), cart.getShippingMethod(), cart.getShippingCost());
+    }
+}
@@ -37,7 +37,8 @@ public enum GSTCategory {
 
     /**
      * Determines GST category based on product category enum
-     * This provides more accurate GST classification based on structured categories
+     * This provides more accurate GST classification based on structured categories.
+     * Price-dependent slabs are resolved by {@link com.ecommerce.cart.tax.GstRuleEngine}.
      */
     public static GSTCategory determineGSTCategory(ProductCategory productCategory) {
         if (productCategory == null) {
@@ -0,0 +1,75 @@
+package com.ecommerce.cart.model;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Invoice-grade GST breakdown per slab with CGST/SGST or IGST split")
+public class GstBreakdown {
+
+    @Schema(description = "Types of supply that decide the GST split")
+    public enum SupplyType {
+        @Schema(description = "Seller and place of supply in the same state: CGST + SGST")
+        INTRA_STATE,
+
+        @Schema(description = "Seller and place of supply in different states: IGST")
+        INTER_STATE
+    }
+
+    @Schema(description = "Type of supply", example = "INTRA_STATE")
+    private SupplyType supplyType;
+
+    @Schema(description = "State code of the place of supply", example = "KA")
+    private String placeOfSupply;
+
+    @Schema(description = "Per-slab taxable value and tax, for slabs present in the cart")
+    private List<SlabTax> slabs;
+
+    @Schema(description = "Total taxable value", example = "55200.0")
+    private float taxableValue;
+
+    @Schema(description = "Total central GST", example = "7455.0")
+    private float cgst;
+
+    @Schema(description = "Total state GST", example = "7455.0")
+    private float sgst;
+
+    @Schema(description = "Total integrated GST", example = "0.0")
+    private float igst;
+
+    @Schema(description = "Total GST", example = "14910.0")
+    private float totalTax;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Taxable value and tax for a single GST slab")
+    public static class SlabTax {
+        @Schema(description = "GST slab", example = "GST_18")
+        private GSTCategory gstCategory;
+
+        @Schema(description = "GST rate in percent", example = "18.0")
+        private float rate;
+
+        @Schema(description = "Taxable value in this slab", example = "5000.0")
+        private float taxableValue;
+
+        @Schema(description = "Central GST", example = "450.0")
+        private float cgst;
+
+        @Schema(description = "State GST", example = "450.0")
+        private float sgst;
+
+        @Schema(description = "Integrated GST", example = "0.0")
+        private float igst;
+
+        @Schema(description = "Total GST in this slab", example = "900.0")
+        private float tax;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.cart.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global cap on in-flight requests that follows Redis latency, in the style of a gradient limiter.
+ * A fast-moving average of latency is compared with a slow-moving baseline: while recent latency stays
+ * within the tolerance the limit grows by about its square root per update, and as latency climbs past
+ * it the limit shrinks in proportion, down to half per update.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WEIGHT = 0.5;
+    private static final double LONG_WEIGHT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private volatile int peakInFlight;
+
+    private double shortLatency;
+    private double longLatency;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    boolean tryAcquire() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                if (current + 1 > peakInFlight) {
+                    // Racy on purpose; the peak only decides whether the limit is being used at all
+                    peakInFlight = current + 1;
+                }
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Folds the average latency of the last interval into the limit. Intervals without samples are skipped.
+     */
+    synchronized void update(double latencyNanos) {
+        int peak = peakInFlight;
+        peakInFlight = inFlight.get();
+        if (latencyNanos <= 0) {
+            return;
+        }
+        shortLatency = shortLatency == 0 ? latencyNanos : shortLatency * (1 - SHORT_WEIGHT) + latencyNanos * SHORT_WEIGHT;
+        longLatency = longLatency == 0 ? latencyNanos : longLatency * (1 - LONG_WEIGHT) + latencyNanos * LONG_WEIGHT;
+        if (longLatency > shortLatency * 2) {
+            // Latency recovered well below the baseline; let the baseline catch up faster
+            longLatency *= 0.95;
+        }
+
+        int current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / shortLatency));
+        double target = current * gradient + Math.sqrt(current);
+        if (target > current && peak < current / 2) {
+            // Don't grow a limit that traffic isn't reaching
+            return;
+        }
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = (int) Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    synchronized double getLatencyNanos() {
+        return shortLatency;
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.cart.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.ecommerce.cart.config.RateLimitProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate limiting in front of the cart endpoints.
+ * Requests naming a customer in the path first take a token from that customer's bucket. Cart writes carry
+ * their customer in the body, so the cart service takes theirs once the body is decoded. Listings and bulk
+ * export/import are not tied to a customer and take {@code listCost} tokens from a bucket per client address.
+ * Every request then needs a slot under the global adaptive concurrency limit.
+ * Rejected requests get 429 with a Retry-After hint.
+ */
+@Component
+public class CartRateLimitFilter implements WebFilter {
+
+    private static final String CART_PATH = "/cart";
+
+    /** Path segments under /cart that name a bulk operation rather than a customer. */
+    private static final Set<String> BULK_SEGMENTS = Set.of("export", "import");
+
+    private final RateLimitProperties properties;
+    private final RedisLatencyRecorder latencyRecorder;
+    private final CustomerRateLimiter customerRateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final Timer overhead;
+    private final Counter concurrencyRejections;
+
+    public CartRateLimitFilter(RateLimitProperties properties, RedisLatencyRecorder latencyRecorder,
+                               CustomerRateLimiter customerRateLimiter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.latencyRecorder = latencyRecorder;
+        this.customerRateLimiter = customerRateLimiter;
+        RateLimitProperties.Concurrency concurrency = properties.getConcurrency();
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(concurrency.getInitialLimit(), concurrency.getMinLimit(),
+                concurrency.getMaxLimit(), concurrency.getTolerance(), concurrency.getSmoothing());
+
+        this.overhead = Timer.builder("cart.ratelimit.overhead")
+                .description("Time spent deciding whether to admit a cart request")
+                .register(meterRegistry);
+        this.concurrencyRejections = Counter.builder("cart.ratelimit.rejected").tag("reason", "concurrency").register(meterRegistry);
+        Gauge.builder("cart.ratelimit.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit).register(meterRegistry);
+        Gauge.builder("cart.ratelimit.concurrency.inflight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight).register(meterRegistry);
+        Gauge.builder("cart.ratelimit.redis.latency", concurrencyLimit, limit -> limit.getLatencyNanos() / 1_000_000_000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (!properties.isEnabled() || !path.startsWith(CART_PATH)) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        String customerId = pathCustomerId(path);
+        if (customerId != null) {
+            return customerRateLimiter.tryAcquire(customerId, 1)
+                    .flatMap(waitNanos -> admit(exchange, chain, waitNanos, start));
+        }
+        if (request.getMethod() == HttpMethod.POST && isCartRoot(path)) {
+            // The customer is in the body; the cart service takes the token after decoding it
+            return admit(exchange, chain, 0, start);
+        }
+        return customerRateLimiter.tryAcquire(clientAddressKey(request), properties.getListCost())
+                .flatMap(waitNanos -> admit(exchange, chain, waitNanos, start));
+    }
+
+    /**
+     * Folds the Redis latency sampled since the last update into the concurrency limit.
+     */
+    @Scheduled(fixedDelayString = "${cart.ratelimit.concurrency.update-interval-ms:100}")
+    public void updateConcurrencyLimit() {
+        if (properties.isEnabled() && properties.getConcurrency().isEnabled()) {
+            concurrencyLimit.update(latencyRecorder.drainAverageNanos());
+        }
+    }
+
+    private Mono<Void> admit(ServerWebExchange exchange, WebFilterChain chain, long waitNanos, long start) {
+        if (waitNanos > 0) {
+            overhead.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return reject(exchange, waitNanos);
+        }
+        if (!properties.getConcurrency().isEnabled()) {
+            overhead.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return chain.filter(exchange);
+        }
+        boolean acquired = concurrencyLimit.tryAcquire();
+        overhead.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            concurrencyRejections.increment();
+            return reject(exchange, TimeUnit.SECONDS.toNanos(1));
+        }
+        return chain.filter(exchange).doFinally(signal -> concurrencyLimit.release());
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, long waitNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L)));
+        return response.setComplete();
+    }
+
+    private static boolean isCartRoot(String path) {
+        return path.length() == CART_PATH.length() || path.length() == CART_PATH.length() + 1;
+    }
+
+    /**
+     * The customer ID of {@code /cart/{customerId}/...} paths; null for the cart root and bulk operations.
+     */
+    static String pathCustomerId(String path) {
+        if (path.length() <= CART_PATH.length() + 1 || path.charAt(CART_PATH.length()) != '/') {
+            return null;
+        }
+        int end = path.indexOf('/', CART_PATH.length() + 1);
+        String segment = path.substring(CART_PATH.length() + 1, end < 0 ? path.length() : end);
+        return BULK_SEGMENTS.contains(segment) ? null : segment;
+    }
+
+    private static String clientAddressKey(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? "ip:" + remote.getAddress().getHostAddress() : "ip:unknown";
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.cart.ratelimit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a customer has used up their request budget; surfaces as 429 with a Retry-After hint.
+ */
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS, reason = "Too many cart requests, retry later")
+public class CustomerRateLimitedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long waitNanos;
+
+    public CustomerRateLimitedException(long waitNanos) {
+        super("Too many cart requests, retry later", null, false, false);
+        this.waitNanos = waitNanos;
+    }
+
+    /**
+     * Whole seconds until the customer's bucket has refilled enough, at least one.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+}
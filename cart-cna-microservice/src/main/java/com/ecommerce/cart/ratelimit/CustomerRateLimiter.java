@@ -0,0 +1,77 @@
+package com.ecommerce.cart.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.RateLimitProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-customer token buckets, local or shared through Redis.
+ * Shared by the rate limit filter, for customer IDs in the request path, and the cart service, for the
+ * customer ID of a decoded request body.
+ */
+@Component
+public class CustomerRateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CustomerRateLimiter.class);
+
+    private final RateLimitProperties properties;
+    private final TokenBucketTable localBuckets;
+    private final RedisTokenBuckets clusterBuckets;
+    private final Counter rejections;
+
+    public CustomerRateLimiter(RateLimitProperties properties, ReactiveStringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.localBuckets = new TokenBucketTable(properties.getStripes(), properties.getMaxCustomers(),
+                properties.getCapacity(), properties.getRefillPerSecond());
+        this.clusterBuckets = properties.getCluster().isEnabled()
+                ? new RedisTokenBuckets(redisTemplate, properties.getCapacity(), properties.getRefillPerSecond(),
+                        properties.getCluster().getTtlMs())
+                : null;
+        this.rejections = Counter.builder("cart.ratelimit.rejected").tag("reason", "customer").register(meterRegistry);
+        Gauge.builder("cart.ratelimit.customers", localBuckets, TokenBucketTable::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Takes tokens from the key's bucket; emits 0 if they were taken, otherwise the nanoseconds until they
+     * will be available.
+     */
+    public Mono<Long> tryAcquire(String key, double cost) {
+        Mono<Long> wait = clusterBuckets == null
+                ? Mono.fromSupplier(() -> localBuckets.tryAcquire(key, cost, System.nanoTime()))
+                : clusterBuckets.tryAcquire(key, cost)
+                        .onErrorResume(e -> {
+                            LOG.debug("Cluster rate limit unavailable, using local bucket for {}", key, e);
+                            return Mono.just(localBuckets.tryAcquire(key, cost, System.nanoTime()));
+                        });
+        return wait.doOnNext(waitNanos -> {
+            if (waitNanos > 0) {
+                rejections.increment();
+            }
+        });
+    }
+
+    /**
+     * Completes when the customer may proceed, or fails with {@link CustomerRateLimitedException}.
+     */
+    public Mono<Void> acquire(String customerId) {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return tryAcquire(customerId, 1)
+                .flatMap(waitNanos -> waitNanos > 0
+                        ? Mono.<Void>error(new CustomerRateLimitedException(waitNanos))
+                        : Mono.<Void>empty());
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.cart.ratelimit;
+
+import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.protocol.ProtocolKeyword;
+
+/**
+ * Collects Redis command completion latency from the Lettuce client for the adaptive concurrency limit.
+ * Blocking reads wait on purpose, so they are left out.
+ */
+@Component
+public class RedisLatencyRecorder implements CommandLatencyRecorder {
+
+    private static final Set<String> BLOCKING_COMMANDS = Set.of(
+            "BLPOP", "BRPOP", "BRPOPLPUSH", "BLMOVE", "BZPOPMIN", "BZPOPMAX", "XREAD", "XREADGROUP", "WAIT");
+
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder count = new LongAdder();
+
+    @Override
+    public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+                                     long firstResponseLatency, long completionLatency) {
+        if (BLOCKING_COMMANDS.contains(commandType.name())) {
+            return;
+        }
+        totalNanos.add(completionLatency);
+        count.increment();
+    }
+
+    /**
+     * Average completion latency in nanoseconds since the previous call, or 0 if no command completed.
+     */
+    public double drainAverageNanos() {
+        long commands = count.sumThenReset();
+        long total = totalNanos.sumThenReset();
+        return commands == 0 ? 0 : (double) total / commands;
+    }
+}
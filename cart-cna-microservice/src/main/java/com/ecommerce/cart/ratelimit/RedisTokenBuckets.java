@@ -0,0 +1,65 @@
+package com.ecommerce.cart.ratelimit;
+
+import java.util.List;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.ecommerce.cart.redis.CartKeys;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Customer token buckets kept in Redis, so the limit holds across all replicas.
+ * Each check is one script call that refills, takes tokens and refreshes the bucket's expiry.
+ */
+final class RedisTokenBuckets {
+
+    /**
+     * KEYS = bucket; ARGV = capacity, tokens per millisecond, now in milliseconds, cost, ttl in milliseconds.
+     * Returns 0 if the tokens were taken, otherwise the milliseconds until they will be available.
+     */
+    private static final RedisScript<Long> TAKE = RedisScript.of(
+            "local capacity = tonumber(ARGV[1])\n" +
+            "local rate = tonumber(ARGV[2])\n" +
+            "local now = tonumber(ARGV[3])\n" +
+            "local cost = math.min(tonumber(ARGV[4]), capacity)\n" +
+            "local bucket = redis.call('HMGET', KEYS[1], 't', 'ts')\n" +
+            "local tokens = tonumber(bucket[1]) or capacity\n" +
+            "local updated = tonumber(bucket[2]) or now\n" +
+            "if now > updated then\n" +
+            "  tokens = math.min(capacity, tokens + (now - updated) * rate)\n" +
+            "  updated = now\n" +
+            "end\n" +
+            "local wait = 0\n" +
+            "if tokens >= cost then\n" +
+            "  tokens = tokens - cost\n" +
+            "else\n" +
+            "  wait = math.max(1, math.ceil((cost - tokens) / rate))\n" +
+            "end\n" +
+            "redis.call('HSET', KEYS[1], 't', tokens, 'ts', updated)\n" +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[5])\n" +
+            "return wait", Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final String capacity;
+    private final String refillPerMilli;
+    private final String ttlMs;
+
+    RedisTokenBuckets(ReactiveStringRedisTemplate redisTemplate, double capacity, double refillPerSecond, long ttlMs) {
+        this.redisTemplate = redisTemplate;
+        this.capacity = Double.toString(capacity);
+        this.refillPerMilli = Double.toString(refillPerSecond / 1000.0);
+        this.ttlMs = Long.toString(ttlMs);
+    }
+
+    /**
+     * Emits 0 if the tokens were taken, otherwise the nanoseconds until they will be available.
+     */
+    Mono<Long> tryAcquire(String key, double cost) {
+        return redisTemplate.execute(TAKE, List.of(CartKeys.RATE_LIMITS + key),
+                        List.of(capacity, refillPerMilli, Long.toString(System.currentTimeMillis()), Double.toString(cost), ttlMs))
+                .next()
+                .map(waitMs -> waitMs * 1_000_000L);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.cart.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-key token buckets in a bounded, striped table.
+ * Keys hash to one of a fixed number of stripes, each an access-ordered map with its own lock and an
+ * equal share of the capacity, so contention is spread across stripes and idle keys age out per stripe.
+ */
+final class TokenBucketTable {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final double capacity;
+    private final double refillPerNano;
+
+    TokenBucketTable(int stripeCount, int maxEntries, double capacity, double refillPerSecond) {
+        int count = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        int perStripe = Math.max(1, (maxEntries + count - 1) / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.mask = count - 1;
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+    }
+
+    /**
+     * Takes {@code cost} tokens from the key's bucket.
+     *
+     * @return 0 if the tokens were taken, otherwise the nanoseconds until they will be available
+     */
+    long tryAcquire(String key, double cost, long nowNanos) {
+        double needed = Math.min(cost, capacity);
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & mask];
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, nowNanos);
+                stripe.put(key, bucket);
+            } else if (nowNanos > bucket.updatedNanos) {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (nowNanos - bucket.updatedNanos) * refillPerNano);
+                bucket.updatedNanos = nowNanos;
+            }
+            if (bucket.tokens >= needed) {
+                bucket.tokens -= needed;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((needed - bucket.tokens) / refillPerNano));
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedNanos;
+
+        Bucket(double tokens, long updatedNanos) {
+            this.tokens = tokens;
+            this.updatedNanos = updatedNanos;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.cart.redis;
+
+/**
+ * Names of the non-cart keys the service keeps next to the carts.
+ * Carts are stored under the bare customer ID, so every internal key shares a reserved prefix
+ * that listings and scans skip.
+ */
+public final class CartKeys {
+
+    public static final String INTERNAL_PREFIX = "__cart:";
+
+    /** Hash of customer ID to the sequence number of its last mutation. */
+    public static final String SEQUENCES = INTERNAL_PREFIX + "seq";
+
+    /** Hash of customer ID to the JSON summary (counts and totals) of its cart. */
+    public static final String SUMMARIES = INTERNAL_PREFIX + "summary";
+
+    /** Hash of product ID to the shared product metadata used by normalized cart storage. */
+    public static final String CATALOG = INTERNAL_PREFIX + "catalog";
+
+    /** Prefix of the per-customer token buckets used by cluster-wide rate limiting. */
+    public static final String RATE_LIMITS = INTERNAL_PREFIX + "rl:";
+
+    private CartKeys() {
+    }
+
+    public static boolean isCartKey(String key) {
+        return !key.startsWith(INTERNAL_PREFIX);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.cart.redis;
+
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Lua scripts for cart mutations. Each one applies the data change, keeps the cart's stored summary
+ * in step and appends the matching cart event in the same round trip, so neither the summaries nor
+ * the event stream can miss or invent a change.
+ * Events carry: c = customer ID, op = SET/DEL, seq = per-cart sequence, n = item count, t = total.
+ */
+public final class CartScripts {
+
+    private static final String APPEND_EVENT =
+            "local function append(key, op, items, total)\n" +
+            "  local seq = redis.call('HINCRBY', KEYS[2], key, 1)\n" +
+            "  if ARGV[1] == '1' then\n" +
+            "    redis.call('XADD', KEYS[3], 'MAXLEN', '~', ARGV[2], '*', 'c', key, 'op', op, 'seq', seq, 'n', items, 't', total)\n" +
+            "  end\n" +
+            "  return seq\n" +
+            "end\n";
+
+    /**
+     * KEYS = cart, sequences, stream, summaries;
+     * ARGV = emit events, stream max length, value, item count, total, summary.
+     * Returns the new sequence number of the cart.
+     */
+    public static final RedisScript<Long> WRITE = RedisScript.of(APPEND_EVENT +
+            "redis.call('SET', KEYS[1], ARGV[3])\n" +
+            "redis.call('HSET', KEYS[4], KEYS[1], ARGV[6])\n" +
+            "return append(KEYS[1], 'SET', ARGV[4], ARGV[5])", Long.class);
+
+    /**
+     * KEYS = cart, sequences, stream, summaries; ARGV = emit events, stream max length.
+     * Returns the new sequence number, or 0 when there was no cart to delete.
+     */
+    public static final RedisScript<Long> DELETE = RedisScript.of(APPEND_EVENT +
+            "redis.call('HDEL', KEYS[4], KEYS[1])\n" +
+            "if redis.call('DEL', KEYS[1]) == 0 then return 0 end\n" +
+            "return append(KEYS[1], 'DEL', '0', '0')", Long.class);
+
+    /**
+     * Commits a merge only if neither cart changed since it was read.
+     * KEYS = target, sequences, stream, guest, summaries; ARGV = emit events, stream max length,
+     * expected target, target present, expected guest, guest present, merged target, item count, total, summary.
+     * Returns the target's new sequence number, or 0 on conflict.
+     */
+    public static final RedisScript<Long> MERGE = RedisScript.of(APPEND_EVENT +
+            "local function unchanged(key, expected, present)\n" +
+            "  local current = redis.call('GET', key)\n" +
+            "  if present == '1' then return current == expected end\n" +
+            "  return current == false\n" +
+            "end\n" +
+            "if not unchanged(KEYS[1], ARGV[3], ARGV[4]) or not unchanged(KEYS[4], ARGV[5], ARGV[6]) then return 0 end\n" +
+            "redis.call('SET', KEYS[1], ARGV[7])\n" +
+            "redis.call('DEL', KEYS[4])\n" +
+            "redis.call('HSET', KEYS[5], KEYS[1], ARGV[10])\n" +
+            "redis.call('HDEL', KEYS[5], KEYS[4])\n" +
+            "append(KEYS[4], 'DEL', '0', '0')\n" +
+            "return append(KEYS[1], 'SET', ARGV[8], ARGV[9])", Long.class);
+
+    private CartScripts() {
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.cart.redis;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Wraps a value serializer and compresses payloads at or above a size threshold.
+ * Values below the threshold are stored as-is, so existing uncompressed carts stay readable.
+ */
+public class CompressingRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final RedisSerializer<T> delegate;
+    private final CompressionCodec codec;
+    private final int thresholdBytes;
+
+    private final Timer compressTimer;
+    private final Map<CompressionCodec, Timer> decompressTimers = new EnumMap<>(CompressionCodec.class);
+    private final DistributionSummary compressionRatio;
+
+    public CompressingRedisSerializer(RedisSerializer<T> delegate, CompressionCodec codec, int thresholdBytes,
+                                      MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.codec = codec;
+        this.thresholdBytes = thresholdBytes;
+        this.compressTimer = codecTimer(meterRegistry, codec, "compress");
+        for (CompressionCodec storedCodec : CompressionCodec.values()) {
+            decompressTimers.put(storedCodec, codecTimer(meterRegistry, storedCodec, "decompress"));
+        }
+        this.compressionRatio = DistributionSummary.builder("cart.redis.compression.ratio")
+                .description("Uncompressed to compressed size ratio of stored cart values")
+                .tag("codec", codec.name())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        byte[] raw = delegate.serialize(value);
+        if (raw == null || raw.length < thresholdBytes) {
+            return raw;
+        }
+
+        long start = System.nanoTime();
+        byte[] compressed = codec.encode(raw);
+        compressTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (compressed == null) {
+            compressionRatio.record(1.0);
+            return raw;
+        }
+        compressionRatio.record((double) raw.length / compressed.length);
+        return compressed;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return delegate.deserialize(bytes);
+        }
+
+        // Decode with whatever codec the value was written with, not the configured one
+        CompressionCodec storedCodec = CompressionCodec.fromHeader(bytes[0]);
+        if (storedCodec == null) {
+            return delegate.deserialize(bytes);
+        }
+
+        long start = System.nanoTime();
+        byte[] raw = storedCodec.decode(bytes);
+        decompressTimers.get(storedCodec).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return delegate.deserialize(raw);
+    }
+
+    private static Timer codecTimer(MeterRegistry meterRegistry, CompressionCodec codec, String operation) {
+        return Timer.builder("cart.redis.codec.time")
+                .description("Time spent compressing or decompressing stored cart values")
+                .tag("codec", codec.name())
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
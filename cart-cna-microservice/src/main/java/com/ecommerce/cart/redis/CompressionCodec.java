@@ -0,0 +1,167 @@
+package com.ecommerce.cart.redis;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Compression codecs for stored cart values.
+ * Every compressed value is framed as [header byte][original length (int)][payload],
+ * so values written with different codecs (or uncompressed JSON) can be read side by side.
+ */
+public enum CompressionCodec {
+
+    DEFLATE((byte) 0x01) {
+        @Override
+        protected int compress(byte[] src, byte[] dest, int destOffset) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(src);
+                deflater.finish();
+                int written = deflater.deflate(dest, destOffset, dest.length - destOffset);
+                return deflater.finished() ? written : -1;
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        protected int maxCompressedLength(int length) {
+            // zlib worst case: 5 bytes per 16K block plus stream header and trailer
+            return length + (length >>> 12) + (length >>> 14) + 64;
+        }
+
+        @Override
+        protected long maxOriginalLength(int compressedLength) {
+            // DEFLATE cannot expand by more than about 1032:1
+            return compressedLength * 1032L + 64;
+        }
+
+        @Override
+        protected void decompress(byte[] src, int srcOffset, byte[] dest) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(src, srcOffset, src.length - srcOffset);
+                int read = inflater.inflate(dest);
+                if (read != dest.length || !inflater.finished()) {
+                    throw new SerializationException("Corrupt DEFLATE cart payload");
+                }
+            } catch (DataFormatException e) {
+                throw new SerializationException("Corrupt DEFLATE cart payload", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    },
+
+    LZ4((byte) 0x02) {
+        private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+        // The safe decompressor never reads past the payload, whatever a corrupt value claims
+        private final LZ4SafeDecompressor decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+
+        @Override
+        protected int compress(byte[] src, byte[] dest, int destOffset) {
+            return compressor.compress(src, 0, src.length, dest, destOffset);
+        }
+
+        @Override
+        protected int maxCompressedLength(int length) {
+            return compressor.maxCompressedLength(length);
+        }
+
+        @Override
+        protected long maxOriginalLength(int compressedLength) {
+            // An LZ4 block cannot expand by more than 255:1
+            return compressedLength * 255L + 16;
+        }
+
+        @Override
+        protected void decompress(byte[] src, int srcOffset, byte[] dest) {
+            try {
+                int read = decompressor.decompress(src, srcOffset, src.length - srcOffset, dest, 0, dest.length);
+                if (read != dest.length) {
+                    throw new SerializationException("Corrupt LZ4 cart payload");
+                }
+            } catch (LZ4Exception e) {
+                throw new SerializationException("Corrupt LZ4 cart payload", e);
+            }
+        }
+    };
+
+    static final int HEADER_LENGTH = 1 + Integer.BYTES;
+
+    private final byte header;
+
+    CompressionCodec(byte header) {
+        this.header = header;
+    }
+
+    public byte getHeader() {
+        return header;
+    }
+
+    /**
+     * Compresses the given bytes into a framed value, or returns null when the codec
+     * cannot make the payload smaller.
+     */
+    public byte[] encode(byte[] raw) {
+        byte[] out = new byte[HEADER_LENGTH + maxCompressedLength(raw.length)];
+        int written = compress(raw, out, HEADER_LENGTH);
+        if (written < 0 || HEADER_LENGTH + written >= raw.length) {
+            return null;
+        }
+        ByteBuffer.wrap(out, 0, HEADER_LENGTH).put(header).putInt(raw.length);
+        byte[] framed = new byte[HEADER_LENGTH + written];
+        System.arraycopy(out, 0, framed, 0, framed.length);
+        return framed;
+    }
+
+    /**
+     * Restores the original bytes from a value previously produced by {@link #encode(byte[])}.
+     */
+    public byte[] decode(byte[] framed) {
+        if (framed.length < HEADER_LENGTH) {
+            throw new SerializationException("Truncated compressed cart payload");
+        }
+        int originalLength = ByteBuffer.wrap(framed, 1, Integer.BYTES).getInt();
+        // Checked before allocating, so a corrupt header cannot ask for a huge array
+        if (originalLength < 0 || originalLength > maxOriginalLength(framed.length - HEADER_LENGTH)) {
+            throw new SerializationException("Invalid compressed cart payload length: " + originalLength);
+        }
+        byte[] raw = new byte[originalLength];
+        decompress(framed, HEADER_LENGTH, raw);
+        return raw;
+    }
+
+    /**
+     * Resolves the codec a stored value was written with, or null for uncompressed values.
+     * Uncompressed JSON always starts with '{' or whitespace, so it never collides with a header.
+     */
+    public static CompressionCodec fromHeader(byte header) {
+        for (CompressionCodec codec : values()) {
+            if (codec.header == header) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    protected abstract int compress(byte[] src, byte[] dest, int destOffset);
+
+    protected abstract int maxCompressedLength(int length);
+
+    /**
+     * Largest original length a payload of the given compressed length can decode to.
+     */
+    protected abstract long maxOriginalLength(int compressedLength);
+
+    protected abstract void decompress(byte[] src, int srcOffset, byte[] dest);
+}
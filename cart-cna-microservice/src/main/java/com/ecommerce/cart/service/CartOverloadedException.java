@@ -0,0 +1,17 @@
+package com.ecommerce.cart.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when large-cart processing capacity is exhausted; surfaces as 429 so clients back off and retry.
+ */
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS, reason = "Cart processing capacity exhausted, retry later")
+public class CartOverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CartOverloadedException() {
+        super("Cart processing capacity exhausted, retry later");
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.cart.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartSummary;
+
+/**
+ * A requested subset of cart fields, either a predefined view or an explicit {@code fields=} list.
+ * Projections that only touch summary fields are served from the stored {@link CartSummary},
+ * so the item list is neither loaded from Redis nor serialized.
+ */
+public final class CartProjection {
+
+    public enum View {
+        SUMMARY("customerId", "itemCount", "totalQuantity", "subtotal", "taxAmount", "total", "currency",
+                "shippingMethod", "shippingCost"),
+        TOTALS("customerId", "subtotal", "taxAmount", "shippingCost", "total", "currency"),
+        ITEMS("customerId", "items");
+
+        private final List<String> fields;
+
+        View(String... fields) {
+            this.fields = List.of(fields);
+        }
+    }
+
+    private static final Set<String> SUMMARY_FIELDS = Set.copyOf(View.SUMMARY.fields);
+
+    private static final String ITEMS_FIELD = "items";
+
+    private final Set<String> fields;
+
+    private CartProjection(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Resolves the view and field parameters of a request; null when neither is given.
+     *
+     * @throws IllegalArgumentException for an unknown view or field
+     */
+    public static CartProjection of(String view, String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        if (view != null && !view.isBlank()) {
+            try {
+                selected.addAll(View.valueOf(view.trim().toUpperCase(Locale.ROOT)).fields);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown cart view: " + view);
+            }
+        }
+        if (fields != null && !fields.isBlank()) {
+            Arrays.stream(fields.split(","))
+                    .map(String::trim)
+                    .filter(field -> !field.isEmpty())
+                    .forEach(field -> {
+                        if (!SUMMARY_FIELDS.contains(field) && !ITEMS_FIELD.equals(field)) {
+                            throw new IllegalArgumentException("Unknown cart field: " + field);
+                        }
+                        selected.add(field);
+                    });
+        }
+        return selected.isEmpty() ? null : new CartProjection(selected);
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Whether every requested field is available from the stored summary.
+     */
+    public boolean isServedFromSummary() {
+        return !fields.contains(ITEMS_FIELD);
+    }
+
+    public Map<String, Object> apply(CartSummary summary) {
+        return apply(summary, null);
+    }
+
+    public Map<String, Object> apply(Cart cart) {
+        return apply(CartSummary.of(cart), cart);
+    }
+
+    private Map<String, Object> apply(CartSummary summary, Cart cart) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : fields) {
+            projected.put(field, valueOf(field, summary, cart));
+        }
+        return projected;
+    }
+
+    private static Object valueOf(String field, CartSummary summary, Cart cart) {
+        switch (field) {
+            case "customerId":
+                return summary.getCustomerId();
+            case "itemCount":
+                return summary.getItemCount();
+            case "totalQuantity":
+                return summary.getTotalQuantity();
+            case "subtotal":
+                return summary.getSubtotal();
+            case "taxAmount":
+                return summary.getTaxAmount();
+            case "total":
+                return summary.getTotal();
+            case "currency":
+                return summary.getCurrency();
+            case "shippingMethod":
+                return summary.getShippingMethod();
+            case "shippingCost":
+                return summary.getShippingCost();
+            case ITEMS_FIELD:
+                return cart != null ? cart.getItems() : null;
+            default:
+                throw new IllegalArgumentException("Unknown cart field: " + field);
+        }
+    }
+}
@@ -1,23 +1,77 @@
 package com.ecommerce.cart.service;
 
+import com.ecommerce.cart.cache.LocalCartCache;
+import com.ecommerce.cart.catalog.ProductCatalog;
+import com.ecommerce.cart.config.CartBulkProperties;
+import com.ecommerce.cart.config.CartEventProperties;
+import com.ecommerce.cart.config.CartProcessingProperties;
+import com.ecommerce.cart.hotkey.HotKeyTracker;
+import com.ecommerce.cart.hotkey.PinnedCartCache;
 import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartImportResult;
 import com.ecommerce.cart.model.CartItem;
-import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.CartSummary;
 import com.ecommerce.cart.model.ProductCategory;
+import com.ecommerce.cart.ratelimit.CustomerRateLimiter;
+import com.ecommerce.cart.redis.CartKeys;
+import com.ecommerce.cart.redis.CartScripts;
+import com.ecommerce.cart.shipping.ShippingRateEngine;
+import com.ecommerce.cart.tracing.CartPhase;
+import com.ecommerce.cart.tracing.CartRequestTrace;
+import com.ecommerce.cart.tracing.CartTracing;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class CartService {
 
     private static final Logger LOG = LoggerFactory.getLogger(CartService.class);
 
+    private static final ScanOptions CART_SCAN_OPTIONS = ScanOptions.scanOptions().match("*").count(500).build();
+
+    private static final ByteBuffer MISSING = ByteBuffer.allocate(0);
+
+    private static final int MERGE_MAX_ATTEMPTS = 5;
+
+    private static final int SUMMARY_BATCH_SIZE = 500;
+
+    private static final RedisElementWriter<byte[]> RAW_WRITER = RedisElementWriter.from(RedisSerializer.byteArray());
+
+    private static final Jackson2JsonRedisSerializer<CartSummary> SUMMARY_SERIALIZER = new Jackson2JsonRedisSerializer<>(CartSummary.class);
+
+    private static final RedisElementReader<Long> LONG_READER = RedisElementReader.from(new GenericToStringSerializer<>(Long.class));
+
     private ReactiveRedisTemplate<String, Cart> redisTemplate;
 
     private ReactiveValueOperations<String, Cart> cartOps;
@@ -25,52 +79,588 @@ public class CartService {
     @Autowired
     private TaxCalculationService taxCalculationService;
 
+    @Autowired
+    @Qualifier("adminRedisTemplate")
+    private ReactiveRedisTemplate<String, String> adminRedisTemplate;
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @Autowired
+    private PinnedCartCache pinnedCartCache;
+
+    @Autowired
+    private CartEventProperties eventProperties;
+
+    @Autowired
+    private LocalCartCache localCartCache;
+
+    @Autowired
+    private CartProcessingProperties processingProperties;
+
+    @Autowired
+    @Qualifier("cartProcessingScheduler")
+    private Scheduler cartProcessingScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ShippingRateEngine shippingRateEngine;
+
+    @Autowired
+    private CartBulkProperties bulkProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CartTracing cartTracing;
+
+    @Autowired
+    private CustomerRateLimiter customerRateLimiter;
+
     CartService(ReactiveRedisTemplate<String, Cart> redisTemplate) {
         this.redisTemplate = redisTemplate;
         this.cartOps = this.redisTemplate.opsForValue();
     }
 
     public Flux<Cart> listCartData() {
-        return redisTemplate.keys("*")
-                .flatMap(cartOps::get);
+        // SCAN runs on the admin connection; the GETs go through the shared request connection
+        return adminRedisTemplate.scan(CART_SCAN_OPTIONS)
+                .filter(CartKeys::isCartKey)
+                .flatMap(cartOps::get)
+                .flatMap(this::rehydrate);
+    }
+
+    /**
+     * Streams every cart. SCAN pages and GETs are only issued as fast as the client consumes the export.
+     */
+    public Flux<Cart> exportCarts() {
+        return adminRedisTemplate.scan(CART_SCAN_OPTIONS)
+                .filter(CartKeys::isCartKey)
+                .flatMap(cartOps::get, bulkProperties.getExportConcurrency())
+                .flatMap(this::rehydrate);
+    }
+
+    /**
+     * Stores carts from NDJSON lines. Each line is parsed, validated and priced on its own, with a bounded
+     * number of carts in flight; carts turned away because large-cart processing is saturated are retried with
+     * backoff while holding their slot, which slows parsing down to what the service can absorb, and those still
+     * turned away are reported as retryable. Priced carts are written in line order in batches whose writes go
+     * out together and pipeline on the shared connection, each through the same script as single writes; a
+     * customer's carts are always written in line order, so the last line for a customer wins. Bad lines are
+     * counted and reported without stopping the import.
+     */
+    public Mono<CartImportResult> importCarts(Flux<String> lines) {
+        return importLines(lines.map(NdjsonLines.Line::of));
+    }
+
+    /**
+     * Stores carts from a streamed NDJSON body, as {@link #importCarts(Flux)} does. Lines longer than the
+     * configured limit are reported as rejected instead of failing the whole import.
+     */
+    public Mono<CartImportResult> importNdjson(Flux<DataBuffer> body) {
+        return importLines(NdjsonLines.split(body, bulkProperties.getMaxLineBytes()));
+    }
+
+    private Mono<CartImportResult> importLines(Flux<NdjsonLines.Line> lines) {
+        int maxReportedErrors = bulkProperties.getMaxReportedErrors();
+        return lines.index()
+                .filter(line -> !line.getT2().isBlank())
+                .flatMapSequential(line -> prepareLine(line.getT1() + 1, line.getT2()), bulkProperties.getMaxInFlight())
+                .buffer(bulkProperties.getWriteBatchSize())
+                .concatMap(this::writeBatch)
+                .reduce(new CartImportResult(), (result, outcome) -> {
+                    switch (outcome.status) {
+                        case IMPORTED:
+                            result.setImported(result.getImported() + 1);
+                            return result;
+                        case REJECTED:
+                            result.setRejected(result.getRejected() + 1);
+                            break;
+                        case RETRYABLE:
+                            result.setRetryable(result.getRetryable() + 1);
+                            break;
+                        default:
+                            result.setFailed(result.getFailed() + 1);
+                    }
+                    if (result.getErrors().size() < maxReportedErrors) {
+                        result.getErrors().add(outcome.error);
+                    }
+                    return result;
+                })
+                .doOnNext(result -> LOG.info("Cart import completed: {} imported, {} rejected, {} failed, {} retryable",
+                        result.getImported(), result.getRejected(), result.getFailed(), result.getRetryable()));
+    }
+
+    /**
+     * Parses, validates and prices one line, leaving it ready to write or settled with its outcome.
+     */
+    private Mono<ImportLine> prepareLine(long lineNumber, NdjsonLines.Line line) {
+        if (line.isOversized()) {
+            return Mono.just(ImportLine.settled(new ImportOutcome(ImportStatus.REJECTED, "line " + lineNumber
+                    + ": line is " + line.getBytes() + " bytes, over the " + bulkProperties.getMaxLineBytes() + " byte limit")));
+        }
+        Cart c;
+        try {
+            c = objectMapper.readValue(line.getText(), Cart.class);
+        } catch (JsonProcessingException e) {
+            return Mono.just(ImportLine.settled(new ImportOutcome(ImportStatus.REJECTED, "line " + lineNumber + ": malformed cart: " + e.getOriginalMessage())));
+        }
+        String problem = validateImport(c);
+        if (problem != null) {
+            return Mono.just(ImportLine.settled(new ImportOutcome(ImportStatus.REJECTED, "line " + lineNumber + ": " + problem)));
+        }
+        return priceAndEncode(c, CartRequestTrace.NONE)
+                .retryWhen(Retry.backoff(bulkProperties.getOverloadRetries(), Duration.ofMillis(bulkProperties.getOverloadBackoffMs()))
+                        .filter(CartOverloadedException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .map(value -> new ImportLine(lineNumber, c, value, null))
+                .onErrorResume(e -> Mono.just(ImportLine.settled(failure(lineNumber, c, e))));
+    }
+
+    /**
+     * Writes a batch of priced carts. The n-th cart of a customer within the batch goes out in the n-th wave,
+     * and waves run one after another, so two lines for the same customer can never be applied out of order.
+     */
+    private Flux<ImportOutcome> writeBatch(List<ImportLine> batch) {
+        List<ImportOutcome> settled = new ArrayList<>();
+        List<List<ImportLine>> waves = new ArrayList<>();
+        Map<String, Integer> linesPerCustomer = new HashMap<>();
+        for (ImportLine line : batch) {
+            if (line.outcome != null) {
+                settled.add(line.outcome);
+                continue;
+            }
+            int wave = linesPerCustomer.merge(line.cart.getCustomerId(), 1, Integer::sum) - 1;
+            if (wave == waves.size()) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(wave).add(line);
+        }
+        return Flux.fromIterable(settled)
+                .concatWith(Flux.fromIterable(waves)
+                        .concatMap(wave -> Flux.fromIterable(wave).flatMap(this::writeLine, wave.size())));
+    }
+
+    private Mono<ImportOutcome> writeLine(ImportLine line) {
+        Cart c = line.cart;
+        return writeCart(c, line.value)
+                .doOnNext(sequence -> pinnedCartCache.invalidate(c.getCustomerId()))
+                .map(sequence -> ImportOutcome.IMPORTED)
+                .onErrorResume(e -> Mono.just(failure(line.lineNumber, c, e)));
+    }
+
+    private static ImportOutcome failure(long lineNumber, Cart c, Throwable e) {
+        return new ImportOutcome(importStatus(e), "line " + lineNumber + ": " + c.getCustomerId() + ": " + e.getMessage());
+    }
+
+    private static ImportStatus importStatus(Throwable e) {
+        if (e instanceof IllegalArgumentException) {
+            return ImportStatus.REJECTED;
+        }
+        return e instanceof CartOverloadedException ? ImportStatus.RETRYABLE : ImportStatus.FAILED;
+    }
+
+    private static String validateImport(Cart c) {
+        if (c.getCustomerId() == null || c.getCustomerId().isBlank()) {
+            return "customerId is missing";
+        }
+        if (!CartKeys.isCartKey(c.getCustomerId())) {
+            return "customerId " + c.getCustomerId() + " uses the reserved prefix " + CartKeys.INTERNAL_PREFIX;
+        }
+        if (c.getItems() == null) {
+            return c.getCustomerId() + ": items are missing";
+        }
+        for (int i = 0; i < c.getItems().size(); i++) {
+            CartItem item = c.getItems().get(i);
+            if (item == null) {
+                return c.getCustomerId() + ": item " + i + " is empty";
+            }
+            if (item.getQuantity() <= 0) {
+                return c.getCustomerId() + ": item " + i + " has a non-positive quantity";
+            }
+            if (item.getPrice() < 0) {
+                return c.getCustomerId() + ": item " + i + " has a negative price";
+            }
+        }
+        return null;
     }
 
     public Mono<Cart> getCartById(String customerId){
-        return cartOps.get(customerId);
+        hotKeyTracker.record(customerId);
+        return readCart(customerId);
+    }
+
+    /**
+     * Reads a cart without counting the access; callers record it once per request.
+     */
+    private Mono<Cart> readCart(String customerId) {
+        Cart pinned = pinnedCartCache.get(customerId);
+        if (pinned != null) {
+            return Mono.just(pinned);
+        }
+        return Mono.deferContextual(context -> {
+            CartRequestTrace trace = cartTracing.start("read", context);
+            Mono<Cart> cart = localCartCache.isEnabled() ? readThroughLocalCache(customerId) : cartOps.get(customerId);
+            return trace.time(CartPhase.REDIS_READ, cart)
+                    .flatMap(c -> trace.time(CartPhase.REHYDRATE, rehydrate(c)))
+                    .doOnNext(c -> {
+                        trace.cart(customerId, itemCount(c));
+                        pinnedCartCache.put(customerId, c);
+                    })
+                    .doFinally(signal -> trace.finish());
+        });
+    }
+
+    /**
+     * Reads the requested fields of a cart. Summary-only projections are answered from the stored
+     * summary; carts stored before summaries existed fall back to the full cart.
+     */
+    public Mono<Map<String, Object>> getCartProjection(String customerId, CartProjection projection) {
+        if (!projection.isServedFromSummary()) {
+            return getCartById(customerId).map(projection::apply);
+        }
+        hotKeyTracker.record(customerId);
+        return Mono.deferContextual(context -> {
+            CartRequestTrace trace = cartTracing.start("read.summary", context);
+            return trace.time(CartPhase.REDIS_READ, getCartSummary(customerId))
+                    .doOnNext(summary -> trace.cart(customerId, summary.getItemCount()))
+                    .doFinally(signal -> trace.finish());
+        }).map(projection::apply)
+                .switchIfEmpty(Mono.defer(() -> readCart(customerId).map(projection::apply)));
+    }
+
+    /**
+     * Lists the requested fields of all carts. When no items are needed, cart keys are scanned and their
+     * summaries fetched in HMGET batches; carts stored before summaries existed are read in full instead.
+     */
+    public Flux<Map<String, Object>> listCartProjections(CartProjection projection) {
+        if (!projection.isServedFromSummary()) {
+            return listCartData().map(projection::apply);
+        }
+        return adminRedisTemplate.scan(CART_SCAN_OPTIONS)
+                .filter(CartKeys::isCartKey)
+                .buffer(SUMMARY_BATCH_SIZE)
+                .concatMap(keys -> adminRedisTemplate.<String, String>opsForHash().multiGet(CartKeys.SUMMARIES, keys)
+                        .flatMapMany(summaries -> Flux.range(0, keys.size())
+                                .flatMapSequential(i -> summaries.get(i) != null
+                                        ? Mono.just(projection.apply(SUMMARY_SERIALIZER.deserialize(summaries.get(i).getBytes(StandardCharsets.UTF_8))))
+                                        : cartOps.get(keys.get(i)).map(projection::apply))));
+    }
+
+    private Mono<CartSummary> getCartSummary(String customerId) {
+        RedisSerializationContext.SerializationPair<String> keyPair = redisTemplate.getSerializationContext().getKeySerializationPair();
+        return redisTemplate.execute(connection -> connection.hashCommands()
+                        .hGet(keyPair.write(CartKeys.SUMMARIES), keyPair.write(customerId)))
+                .next()
+                .map(raw -> SUMMARY_SERIALIZER.deserialize(toBytes(raw)));
+    }
+
+    /**
+     * Serves a cart from the local cache while its sequence number is unchanged in Redis.
+     * Entries within the TTL are served without a round trip; older ones are revalidated with a
+     * single HGET, which is far cheaper than re-reading and decoding a large cart.
+     */
+    private Mono<Cart> readThroughLocalCache(String customerId) {
+        LocalCartCache.Entry entry = localCartCache.get(customerId);
+        if (entry == null) {
+            return loadIntoLocalCache(customerId);
+        }
+        if (localCartCache.isFresh(entry)) {
+            return Mono.just(entry.cart(valuePair()));
+        }
+        return sequenceOf(customerId)
+                .defaultIfEmpty(0L)
+                .flatMap(sequence -> {
+                    if (sequence == entry.getSequence()) {
+                        localCartCache.markValidated(entry);
+                        return Mono.just(entry.cart(valuePair()));
+                    }
+                    return loadIntoLocalCache(customerId);
+                });
+    }
+
+    private Mono<Cart> loadIntoLocalCache(String customerId) {
+        // The sequence is read before the value on the same connection: a write landing in between
+        // leaves an entry with an older sequence, which simply fails its next revalidation
+        return Mono.zip(sequenceOf(customerId).defaultIfEmpty(0L), rawGet(customerId))
+                .flatMap(current -> {
+                    if (current.getT2() == MISSING) {
+                        localCartCache.invalidate(customerId);
+                        return Mono.empty();
+                    }
+                    return Mono.just(localCartCache.put(customerId, current.getT2(), current.getT1()).cart(valuePair()));
+                });
+    }
+
+    private Mono<Long> sequenceOf(String customerId) {
+        RedisSerializationContext.SerializationPair<String> keyPair = redisTemplate.getSerializationContext().getKeySerializationPair();
+        return redisTemplate.execute(connection -> connection.hashCommands()
+                        .hGet(keyPair.write(CartKeys.SEQUENCES), keyPair.write(customerId)))
+                .next()
+                .map(raw -> Long.parseLong(StandardCharsets.US_ASCII.decode(raw).toString()));
+    }
+
+    private RedisSerializationContext.SerializationPair<Cart> valuePair() {
+        return redisTemplate.getSerializationContext().getValueSerializationPair();
     }
 
     public Mono<Void> addOrModifyCartItem(Mono<Cart> cart) {
         LOG.info("Cart Action triggered");
 
-        return cart.flatMap(c -> {
-            LOG.info("Adding cart to Redis: {}", c);
+        return Mono.deferContextual(context -> {
+            // The trace starts before the body is read, so the time until the cart arrives is its decoding
+            CartRequestTrace trace = cartTracing.start("write", context);
+            return cart.flatMap(c -> {
+                trace.sinceStart(CartPhase.DECODE);
+                if (c.getCustomerId() == null) {
+                    LOG.error("Customer Id is missing.");
+                    return Mono.error(new IllegalArgumentException("Customer Id is missing."));
+                }
+
+                hotKeyTracker.record(c.getCustomerId());
+                trace.cart(c.getCustomerId(), itemCount(c));
+                LOG.debug("Adding cart {} to Redis", c.getCustomerId());
+                // The rate limit filter cannot see the customer of a body, so its token is taken here
+                return customerRateLimiter.acquire(c.getCustomerId())
+                        .then(priceAndEncode(c, trace))
+                        .flatMap(value -> trace.time(CartPhase.REDIS_WRITE, writeCart(c, value)))
+                        .doOnSuccess(sequence -> pinnedCartCache.invalidate(c.getCustomerId()))
+                        .then(); // Propagate this operation
+            }).doFinally(signal -> trace.finish());
+        });
+    }
+
+    /**
+     * Prices the cart and serializes it in its stored layout. In normalized mode the product metadata is
+     * registered with the catalog between the two steps and left out of the stored value.
+     */
+    private Mono<byte[]> priceAndEncode(Cart c, CartRequestTrace trace) {
+        int items = itemCount(c);
+        if (!productCatalog.isEnabled()) {
+            return process(items, () -> {
+                priceCart(c, trace);
+                return serialize(c, trace);
+            });
+        }
+        return process(items, () -> {
+                    priceCart(c, trace);
+                    return c;
+                })
+                .flatMap(priced -> trace.time(CartPhase.CATALOG, productCatalog.normalize(priced)))
+                .flatMap(stored -> process(items, () -> serialize(stored, trace)));
+    }
+
+    private byte[] serialize(Cart c, CartRequestTrace trace) {
+        byte[] value = trace.time(CartPhase.SERIALIZE, () -> toBytes(valuePair().write(c)));
+        trace.payload(value.length);
+        return value;
+    }
+
+    /**
+     * Fills in product metadata left out of normalized carts; carts stored whole pass through.
+     * Runs whatever the storage setting, since carts stored normalized outlive switching it off.
+     */
+    private Mono<Cart> rehydrate(Cart c) {
+        return productCatalog.rehydrate(c);
+    }
+
+    /**
+     * Runs CPU-bound cart work (metadata, tax, logging, serialization). Small carts are processed inline;
+     * carts above the configured item count move to the bounded processing scheduler so they don't stall
+     * the event loop, and are shed with {@link CartOverloadedException} when its queue is full.
+     */
+    private <T> Mono<T> process(int itemCount, Callable<T> work) {
+        if (itemCount <= processingProperties.getOffloadThresholdItems()) {
+            return Mono.fromCallable(work);
+        }
+        return Mono.fromCallable(work)
+                .subscribeOn(cartProcessingScheduler)
+                .onErrorMap(RejectedExecutionException.class, e -> {
+                    meterRegistry.counter("cart.processing.rejected").increment();
+                    return new CartOverloadedException();
+                });
+    }
+
+    /**
+     * Merges the guest cart into the customer's cart: items are combined by productId with quantities
+     * summed, tax is recomputed once and the guest cart is deleted. The write is a compare-and-set
+     * script, so a concurrent change to either cart makes the merge retry instead of losing data.
+     */
+    public Mono<Cart> mergeCarts(String customerId, String guestId) {
+        if (customerId == null || guestId == null || customerId.equals(guestId)) {
+            return Mono.error(new IllegalArgumentException("Customer ID and a different guest ID are required"));
+        }
+        hotKeyTracker.record(customerId);
+        hotKeyTracker.record(guestId);
+
+        return Mono.defer(() -> attemptMerge(customerId, guestId))
+                .retryWhen(Retry.max(MERGE_MAX_ATTEMPTS - 1).filter(MergeConflictException.class::isInstance))
+                .doOnSuccess(merged -> {
+                    pinnedCartCache.invalidate(customerId);
+                    pinnedCartCache.invalidate(guestId);
+                    localCartCache.invalidate(customerId);
+                    localCartCache.invalidate(guestId);
+                });
+    }
+
+    private Mono<Cart> attemptMerge(String customerId, String guestId) {
+        RedisSerializationContext<String, Cart> context = redisTemplate.getSerializationContext();
 
-            if (c.getCustomerId() == null) {
-                LOG.error("Customer Id is missing.");
-                return Mono.error(new IllegalArgumentException("Customer Id is missing."));
+        return Mono.zip(rawGet(customerId), rawGet(guestId)).flatMap(current -> {
+            ByteBuffer targetBytes = current.getT1();
+            ByteBuffer guestBytes = current.getT2();
+            Cart target = targetBytes == MISSING ? null : context.getValueSerializationPair().read(targetBytes.duplicate());
+            Cart guest = guestBytes == MISSING ? null : context.getValueSerializationPair().read(guestBytes.duplicate());
+
+            if (guest == null) {
+                return Mono.justOrEmpty(target).flatMap(this::rehydrate);
             }
 
-            setProductMetaData(c);
-            TaxCalculationService.TaxBreakdown taxBreakdown = taxCalculationService.calculateTaxForCart(c);
-            c.setSubtotal(taxBreakdown.getSubtotal());
-            c.setTaxAmount(taxBreakdown.getTaxAmount());
-            float finalTotal = taxBreakdown.getTotal();
-            c.setTotal(finalTotal);
-
-            // Set default shipping if not provided
-            if (c.getShippingMethod() == null || c.getShippingMethod().isEmpty()) {
-                c.setShippingMethod("default");
-                c.setShippingCost(0.0f);
+            // Rehydration fills the decoded carts in place, so items are merged with their metadata
+            return Mono.when(target != null ? rehydrate(target) : Mono.empty(), rehydrate(guest))
+                    .then(Mono.fromCallable(() -> mergeItems(customerId, target, guest)))
+                    .flatMap(merged -> priceAndEncode(merged, CartRequestTrace.NONE)
+                            .flatMap(value -> commitMerge(customerId, guestId, targetBytes, guestBytes, merged, value)));
+        });
+    }
+
+    private Mono<Cart> commitMerge(String customerId, String guestId, ByteBuffer targetBytes, ByteBuffer guestBytes,
+                                   Cart merged, byte[] value) {
+        List<byte[]> args = eventArgs(
+                toBytes(targetBytes), presence(targetBytes),
+                toBytes(guestBytes), presence(guestBytes),
+                value, ascii(itemCount(merged)), ascii(merged.getTotal()),
+                SUMMARY_SERIALIZER.serialize(CartSummary.of(merged)));
+        return redisTemplate.execute(CartScripts.MERGE,
+                        List.of(customerId, CartKeys.SEQUENCES, eventProperties.getStreamKey(), guestId, CartKeys.SUMMARIES),
+                        args, RAW_WRITER, LONG_READER)
+                .next()
+                .flatMap(sequence -> sequence > 0
+                        ? Mono.just(merged)
+                        : Mono.error(new MergeConflictException()));
+    }
+
+    /**
+     * Stores the cart and appends its SET event in one script call; emits the cart's new sequence number.
+     */
+    private Mono<Long> writeCart(Cart c, byte[] value) {
+        return redisTemplate.execute(CartScripts.WRITE,
+                        List.of(c.getCustomerId(), CartKeys.SEQUENCES, eventProperties.getStreamKey(), CartKeys.SUMMARIES),
+                        eventArgs(value, ascii(itemCount(c)), ascii(c.getTotal()), SUMMARY_SERIALIZER.serialize(CartSummary.of(c))),
+                        RAW_WRITER, LONG_READER)
+                .next()
+                .doOnNext(sequence -> {
+                    if (localCartCache.isEnabled()) {
+                        localCartCache.put(c.getCustomerId(), ByteBuffer.wrap(value), sequence);
+                    }
+                });
+    }
+
+    /**
+     * Script arguments, prefixed with the event flag and stream length shared by all mutation scripts.
+     */
+    private List<byte[]> eventArgs(byte[]... args) {
+        List<byte[]> all = new ArrayList<>(args.length + 2);
+        all.add(ascii(eventProperties.isEnabled() ? 1 : 0));
+        all.add(ascii(eventProperties.getMaxLength()));
+        all.addAll(List.of(args));
+        return all;
+    }
+
+    private static int itemCount(Cart c) {
+        return c.getItems() != null ? c.getItems().size() : 0;
+    }
+
+    private static byte[] ascii(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private Mono<ByteBuffer> rawGet(String key) {
+        ByteBuffer rawKey = redisTemplate.getSerializationContext().getKeySerializationPair().write(key);
+        return redisTemplate.execute(connection -> connection.stringCommands().get(rawKey))
+                .next()
+                .defaultIfEmpty(MISSING);
+    }
+
+    private Cart mergeItems(String customerId, Cart target, Cart guest) {
+        Cart merged = target != null ? target : guest;
+        Map<String, CartItem> byProduct = new LinkedHashMap<>();
+        List<CartItem> unkeyed = new ArrayList<>();
+
+        List<CartItem> all = new ArrayList<>();
+        if (target != null && target.getItems() != null) {
+            all.addAll(target.getItems());
+        }
+        if (guest.getItems() != null) {
+            all.addAll(guest.getItems());
+        }
+        for (CartItem item : all) {
+            if (item.getProductId() == null) {
+                unkeyed.add(item);
+                continue;
             }
-            // Calculate final total including shipping if present
-            if (c.getShippingCost() > 0) {
-                finalTotal += c.getShippingCost();
+            CartItem existing = byProduct.putIfAbsent(item.getProductId(), item);
+            if (existing != null) {
+                existing.setQuantity(existing.getQuantity() + item.getQuantity());
             }
+        }
 
-            LOG.info("Cart calculation completed: {}, Final Total with shipping: {}", taxBreakdown, finalTotal);
+        List<CartItem> items = new ArrayList<>(byProduct.values());
+        items.addAll(unkeyed);
+        merged.setItems(items);
+        merged.setCustomerId(customerId);
+        if (merged.getCurrency() == null) {
+            merged.setCurrency(guest.getCurrency());
+        }
+        if (merged.getShippingPincode() == null) {
+            merged.setShippingPincode(guest.getShippingPincode());
+        }
+        if ((merged.getShippingMethod() == null || merged.getShippingMethod().isEmpty()) && guest.getShippingMethod() != null) {
+            merged.setShippingMethod(guest.getShippingMethod());
+        }
+        return merged;
+    }
 
-            return cartOps.set(c.getCustomerId(), c).then(); // Propagate this operation
-        });
+    private static byte[] toBytes(ByteBuffer buffer) {
+        ByteBuffer copy = buffer.duplicate();
+        byte[] bytes = new byte[copy.remaining()];
+        copy.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] presence(ByteBuffer buffer) {
+        return buffer == MISSING ? new byte[] {'0'} : new byte[] {'1'};
+    }
+
+    /**
+     * Fills in product metadata, tax totals and shipping cost before a cart is stored.
+     */
+    private void priceCart(Cart c, CartRequestTrace trace) {
+        trace.time(CartPhase.METADATA, () -> setProductMetaData(c));
+        TaxCalculationService.TaxBreakdown taxBreakdown = trace.time(CartPhase.TAX, () -> taxCalculationService.calculateTaxForCart(c));
+        c.setSubtotal(taxBreakdown.getSubtotal());
+        c.setTaxAmount(taxBreakdown.getTaxAmount());
+        c.setGstBreakdown(taxBreakdown.getGst());
+        float finalTotal = taxBreakdown.getTotal();
+        c.setTotal(finalTotal);
+
+        // Shipping is always priced server-side; a client-supplied cost is ignored
+        if (c.getShippingMethod() == null || c.getShippingMethod().isEmpty()) {
+            c.setShippingMethod("default");
+        }
+        c.setShippingCost(trace.time(CartPhase.SHIPPING, () -> shippingRateEngine.quote(c)));
+        // Calculate final total including shipping if present
+        if (c.getShippingCost() > 0) {
+            finalTotal += c.getShippingCost();
+        }
+
+        LOG.debug("Cart calculation completed: {}, Final Total with shipping: {}", taxBreakdown, finalTotal);
     }
 
     private void setProductMetaData(Cart c) {
@@ -79,7 +669,7 @@ public class CartService {
                 item.setCategory(ProductCategory.GENERAL);
             }
             if (item.getGstCategory() == null) {
-                item.setGstCategory(GSTCategory.determineGSTCategory(item.getCategory()));
+                item.setGstCategory(taxCalculationService.resolveGstCategory(item));
             }
             if (item.getCurrency() == null || item.getCurrency().isEmpty()) {
                 item.setCurrency("INR");
@@ -88,7 +678,66 @@ public class CartService {
     }
 
     public Mono<Boolean> deleteCartItemById(String customerId) {
-        return cartOps.delete(customerId);
+        hotKeyTracker.record(customerId);
+        return redisTemplate.execute(CartScripts.DELETE,
+                        List.of(customerId, CartKeys.SEQUENCES, eventProperties.getStreamKey(), CartKeys.SUMMARIES),
+                        eventArgs(), RAW_WRITER, LONG_READER)
+                .next()
+                .map(sequence -> sequence > 0)
+                .doOnSuccess(deleted -> {
+                    pinnedCartCache.invalidate(customerId);
+                    localCartCache.invalidate(customerId);
+                });
+    }
+
+    /**
+     * Result of importing one line; problems are either rejections (bad input) or failures (storage).
+     */
+    private enum ImportStatus {
+        IMPORTED, REJECTED, FAILED, RETRYABLE
+    }
+
+    private static final class ImportOutcome {
+        static final ImportOutcome IMPORTED = new ImportOutcome(ImportStatus.IMPORTED, null);
+
+        final ImportStatus status;
+        final String error;
+
+        ImportOutcome(ImportStatus status, String error) {
+            this.status = status;
+            this.error = error;
+        }
     }
 
+    /**
+     * An import line that is either priced and ready to write or already settled with its outcome.
+     */
+    private static final class ImportLine {
+        final long lineNumber;
+        final Cart cart;
+        final byte[] value;
+        final ImportOutcome outcome;
+
+        ImportLine(long lineNumber, Cart cart, byte[] value, ImportOutcome outcome) {
+            this.lineNumber = lineNumber;
+            this.cart = cart;
+            this.value = value;
+            this.outcome = outcome;
+        }
+
+        static ImportLine settled(ImportOutcome outcome) {
+            return new ImportLine(0, null, null, outcome);
+        }
+    }
+
+    /**
+     * Signals that a cart changed between reading and committing a merge.
+     */
+    private static class MergeConflictException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        MergeConflictException() {
+            super("Cart changed during merge", null, false, false);
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package com.ecommerce.cart.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Splits a streamed NDJSON body into lines. Unlike the string decoder, which fails the whole body once a
+ * line exceeds its buffer limit, a line over the limit is skipped up to the next newline and emitted as
+ * oversized, so the import can report it and carry on.
+ */
+final class NdjsonLines {
+
+    private NdjsonLines() {
+    }
+
+    static Flux<Line> split(Flux<DataBuffer> body, int maxLineBytes) {
+        return Flux.defer(() -> {
+            Splitter splitter = new Splitter(maxLineBytes);
+            return body.concatMapIterable(splitter::feed)
+                    .concatWith(Mono.fromSupplier(splitter::finish));
+        });
+    }
+
+    static final class Line {
+        private final String text;
+        private final long bytes;
+
+        private Line(String text, long bytes) {
+            this.text = text;
+            this.bytes = bytes;
+        }
+
+        static Line of(String text) {
+            return new Line(text, text.getBytes(StandardCharsets.UTF_8).length);
+        }
+
+        static Line oversized(long bytes) {
+            return new Line(null, bytes);
+        }
+
+        boolean isOversized() {
+            return text == null;
+        }
+
+        boolean isBlank() {
+            return text != null && text.isBlank();
+        }
+
+        /** The line without its terminator; null when oversized. */
+        String getText() {
+            return text;
+        }
+
+        long getBytes() {
+            return bytes;
+        }
+    }
+
+    private static final class Splitter {
+        private final int maxLineBytes;
+        private final ByteArrayOutputStream current = new ByteArrayOutputStream();
+        private long length;
+
+        Splitter(int maxLineBytes) {
+            this.maxLineBytes = maxLineBytes;
+        }
+
+        List<Line> feed(DataBuffer buffer) {
+            List<Line> lines = new ArrayList<>();
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                int start = 0;
+                for (int i = 0; i < bytes.length; i++) {
+                    if (bytes[i] == '\n') {
+                        append(bytes, start, i);
+                        lines.add(take());
+                        start = i + 1;
+                    }
+                }
+                append(bytes, start, bytes.length);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            return lines;
+        }
+
+        Line finish() {
+            return length > 0 ? take() : null;
+        }
+
+        private void append(byte[] bytes, int from, int to) {
+            length += to - from;
+            if (length <= maxLineBytes) {
+                current.write(bytes, from, to - from);
+            } else {
+                current.reset();
+            }
+        }
+
+        private Line take() {
+            Line line;
+            if (length > maxLineBytes) {
+                line = Line.oversized(length);
+            } else {
+                String text = current.toString(StandardCharsets.UTF_8);
+                line = new Line(text.endsWith("\r") ? text.substring(0, text.length() - 1) : text, length);
+            }
+            current.reset();
+            length = 0;
+            return line;
+        }
+    }
+}
@@ -3,72 +3,164 @@ package com.ecommerce.cart.service;
 import com.ecommerce.cart.model.Cart;
 import com.ecommerce.cart.model.CartItem;
 import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.GstBreakdown;
+import com.ecommerce.cart.tax.GstRuleEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 @Service
 public class TaxCalculationService {
 
     private static final Logger LOG = LoggerFactory.getLogger(TaxCalculationService.class);
 
+    private static final GSTCategory[] SLABS = GSTCategory.values();
+
+    private final GstRuleEngine gstRuleEngine;
+
+    private final String sellerState;
+
+    public TaxCalculationService() {
+        this(GstRuleEngine.withDefaultRules(), "");
+    }
+
+    @Autowired
+    public TaxCalculationService(GstRuleEngine gstRuleEngine, @Value("${cart.tax.seller-state:}") String sellerState) {
+        this.gstRuleEngine = gstRuleEngine;
+        this.sellerState = sellerState == null ? "" : sellerState.trim();
+    }
+
     /**
-     * Calculates tax breakdown for the entire cart
+     * Calculates tax breakdown for the entire cart.
+     * <p>
+     * Taxable values are accumulated per slab in paise in a single pass over the items; tax is then
+     * computed once per slab, rounding each CGST, SGST or IGST amount half-up to the paisa, which is
+     * how the invoice generator prints them. The cart tax is the sum of those rounded amounts.
      */
     public TaxBreakdown calculateTaxForCart(Cart cart) {
+        return calculateTaxForCart(cart, cart == null ? null : cart.getSupplyState());
+    }
+
+    /**
+     * Calculates tax breakdown for the entire cart as if shipped to the given place of supply
+     */
+    public TaxBreakdown calculateTaxForCart(Cart cart, String supplyState) {
         if (cart == null || cart.getItems() == null || cart.getItems().isEmpty()) {
             return new TaxBreakdown(0.0f, 0.0f, 0.0f);
         }
 
-        float totalSubtotal = 0.0f;
-        float totalTax = 0.0f;
-
-        LOG.info("Calculating tax for cart with {} items", cart.getItems().size());
+        LOG.debug("Calculating tax for cart with {} items", cart.getItems().size());
 
+        long[] taxablePaise = new long[SLABS.length];
         for (CartItem item : cart.getItems()) {
-            float itemSubtotal = item.getPrice() * item.getQuantity();
-            GSTCategory gstCategory = item.getGstCategory() != null ? item.getGstCategory() : GSTCategory.determineGSTCategory(item.getCategory());
-
-            float itemTax = calculateGST(itemSubtotal, gstCategory.getRate());
-            totalSubtotal += itemSubtotal;
-            totalTax += itemTax;
+            GSTCategory gstCategory = resolveGstCategory(item);
+            long itemSubtotal = toPaise(item.getPrice()) * item.getQuantity();
+            taxablePaise[gstCategory.ordinal()] += itemSubtotal;
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Item: {}, Category: {}, Subtotal: ₹{}, GST Category: {}",
+                        item.getTitle(), item.getCategory(), itemSubtotal / 100.0f, gstCategory.getDescription());
+            }
+        }
 
-            LOG.debug("Item: {}, Category: {}, Subtotal: ₹{}, GST Category: {}, Tax: ₹{}", 
-                     item.getTitle(), item.getCategory(), itemSubtotal, gstCategory.getDescription(), itemTax);
+        boolean interState = isInterState(supplyState);
+        List<GstBreakdown.SlabTax> slabs = new ArrayList<>(SLABS.length);
+        long totalTaxable = 0;
+        long totalCgst = 0;
+        long totalSgst = 0;
+        long totalIgst = 0;
+        for (GSTCategory slab : SLABS) {
+            long taxable = taxablePaise[slab.ordinal()];
+            if (taxable == 0) {
+                continue;
+            }
+            long rateBasisPoints = Math.round(slab.getRate() * 100.0);
+            long cgst = interState ? 0 : percentOf(taxable, rateBasisPoints / 2);
+            long sgst = cgst;
+            long igst = interState ? percentOf(taxable, rateBasisPoints) : 0;
+
+            totalTaxable += taxable;
+            totalCgst += cgst;
+            totalSgst += sgst;
+            totalIgst += igst;
+            slabs.add(new GstBreakdown.SlabTax(slab, slab.getRate(), toRupees(taxable),
+                    toRupees(cgst), toRupees(sgst), toRupees(igst), toRupees(cgst + sgst + igst)));
         }
 
-        float grandTotal = totalSubtotal + totalTax;
+        long totalTax = totalCgst + totalSgst + totalIgst;
+        GstBreakdown gst = new GstBreakdown(
+                interState ? GstBreakdown.SupplyType.INTER_STATE : GstBreakdown.SupplyType.INTRA_STATE,
+                placeOfSupply(supplyState), slabs, toRupees(totalTaxable),
+                toRupees(totalCgst), toRupees(totalSgst), toRupees(totalIgst), toRupees(totalTax));
 
-        LOG.info("Tax calculation completed - Subtotal: ₹{}, Tax: ₹{}, Total: ₹{}", 
-                totalSubtotal, totalTax, grandTotal);
+        LOG.debug("Tax calculation completed - Subtotal: ₹{}, Tax: ₹{}, Total: ₹{}",
+                gst.getTaxableValue(), gst.getTotalTax(), toRupees(totalTaxable + totalTax));
 
         return new TaxBreakdown(
-                roundToTwoDecimalPlaces(totalSubtotal),
-                roundToTwoDecimalPlaces(totalTax),
-                roundToTwoDecimalPlaces(grandTotal)
+                toRupees(totalTaxable),
+                toRupees(totalTax),
+                toRupees(totalTaxable + totalTax),
+                gst
         );
     }
 
     /**
-     * Calculates GST for a given amount and rate
+     * Resolves the GST slab for an item, preferring an explicitly set slab over the rule engine
      */
-    private float calculateGST(float amount, float gstRate) {
-        if (gstRate <= 0) {
-            return 0.0f;
+    public GSTCategory resolveGstCategory(CartItem item) {
+        if (item.getGstCategory() != null) {
+            return item.getGstCategory();
         }
-        return (amount * gstRate) / 100.0f;
+        return gstRuleEngine.lookup(item.getCategory(), item.getPrice());
+    }
+
+    private boolean isInterState(String supplyState) {
+        return !sellerState.isEmpty() && supplyState != null && !supplyState.isBlank()
+                && !sellerState.equalsIgnoreCase(supplyState.trim());
+    }
+
+    private String placeOfSupply(String supplyState) {
+        if (supplyState != null && !supplyState.isBlank()) {
+            return supplyState.trim().toUpperCase(Locale.ROOT);
+        }
+        return sellerState.isEmpty() ? null : sellerState.toUpperCase(Locale.ROOT);
     }
 
     /**
-     * Rounds amount to 2 decimal places
+     * Converts a price to paise, rounding half-up on its decimal representation, as invoices do.
+     * The binary value of a float can sit just either side of a half paisa its decimal form lands on
+     * (1.005f is 1.00499999...), so only prices that close to a tie take the exact decimal path; every
+     * other price rounds the same either way and is converted without allocating.
      */
-    private float roundToTwoDecimalPlaces(float amount) {
-        BigDecimal bd = new BigDecimal(Float.toString(amount));
-        bd = bd.setScale(2, RoundingMode.HALF_UP);
-        return bd.floatValue();
+    static long toPaise(float amount) {
+        double paise = amount * 100d; // exact: a float's 24-bit significand times 100 fits in a double
+        double distanceFromTie = Math.abs(paise - Math.floor(paise) - 0.5);
+        if (distanceFromTie > Math.ulp(amount) * 100d) {
+            return Math.round(paise);
+        }
+        return new BigDecimal(Float.toString(amount)).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Applies a rate in basis points to an amount in paise, rounding half-up to the paisa
+     */
+    private static long percentOf(long paise, long rateBasisPoints) {
+        if (rateBasisPoints <= 0 || paise <= 0) {
+            return 0;
+        }
+        return (paise * rateBasisPoints + 5_000) / 10_000;
+    }
+
+    private static float toRupees(long paise) {
+        return paise / 100.0f;
     }
 
     /**
@@ -78,11 +170,17 @@ public class TaxCalculationService {
         private final float subtotal;
         private final float taxAmount;
         private final float total;
+        private final GstBreakdown gst;
 
         public TaxBreakdown(float subtotal, float taxAmount, float total) {
+            this(subtotal, taxAmount, total, null);
+        }
+
+        public TaxBreakdown(float subtotal, float taxAmount, float total, GstBreakdown gst) {
             this.subtotal = subtotal;
             this.taxAmount = taxAmount;
             this.total = total;
+            this.gst = gst;
         }
 
         public float getSubtotal() {
@@ -97,6 +195,10 @@ public class TaxCalculationService {
             return total;
         }
 
+        public GstBreakdown getGst() {
+            return gst;
+        }
+
         @Override
         public String toString() {
             return String.format("TaxBreakdown{subtotal=₹%.2f, taxAmount=₹%.2f, total=₹%.2f}", 
@@ -0,0 +1,110 @@
+package com.ecommerce.cart.shipping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Server-side shipping cost from method, destination pincode and cart weight and value.
+ * Zones and rates are loaded from a versioned JSON file, compiled into a {@link ShippingRateTable} and
+ * swapped in atomically whenever the file changes.
+ */
+@Component
+public class ShippingRateEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShippingRateEngine.class);
+
+    public static final String DEFAULT_RATES_LOCATION = "classpath:shipping-rates.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Resource ratesResource;
+
+    private final AtomicReference<ShippingRateTable> rates = new AtomicReference<>();
+
+    private volatile long loadedModified = -1L;
+
+    @Autowired
+    public ShippingRateEngine(ResourceLoader resourceLoader,
+                              @Value("${cart.shipping.rates-location:" + DEFAULT_RATES_LOCATION + "}") String ratesLocation) {
+        this.ratesResource = resourceLoader.getResource(ratesLocation);
+        try {
+            reload();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Unable to load shipping rates from " + ratesLocation, e);
+        }
+    }
+
+    /**
+     * Engine backed by the bundled rates, for use outside the Spring context.
+     */
+    public static ShippingRateEngine withDefaultRates() {
+        return new ShippingRateEngine(new DefaultResourceLoader(), DEFAULT_RATES_LOCATION);
+    }
+
+    /**
+     * Prices shipping for a cart whose subtotal is already calculated.
+     *
+     * @throws UnknownShippingMethodException if the cart's shipping method is unknown
+     */
+    public float quote(Cart cart) {
+        ShippingRateTable table = rates.get();
+        int weightGrams = 0;
+        if (cart.getItems() != null) {
+            for (CartItem item : cart.getItems()) {
+                int itemWeight = item.getWeightGrams() > 0 ? item.getWeightGrams() : table.getDefaultItemWeightGrams();
+                weightGrams += itemWeight * item.getQuantity();
+            }
+        }
+        return table.quote(cart.getShippingMethod(), cart.getShippingPincode(), weightGrams, cart.getSubtotal());
+    }
+
+    public ShippingRateTable currentRates() {
+        return rates.get();
+    }
+
+    /**
+     * Polls the rates file and hot-swaps the compiled table when it has changed.
+     * A broken file is logged and ignored; the previous rates stay active.
+     */
+    @Scheduled(fixedDelayString = "${cart.shipping.reload-interval-ms:30000}",
+            initialDelayString = "${cart.shipping.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        try {
+            if (ratesResource.lastModified() != loadedModified) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Failed to reload shipping rates from {}, keeping version {}",
+                    ratesResource.getDescription(), rates.get().getVersion(), e);
+        }
+    }
+
+    synchronized void reload() throws IOException {
+        long modified = ratesResource.lastModified();
+        ShippingRateFile file;
+        try (InputStream in = ratesResource.getInputStream()) {
+            file = MAPPER.readValue(in, ShippingRateFile.class);
+        }
+        ShippingRateTable compiled = ShippingRateTable.compile(file);
+        ShippingRateTable previous = rates.getAndSet(compiled);
+        loadedModified = modified;
+
+        LOG.info("Loaded shipping rates version {} ({} methods){}", compiled.getVersion(), compiled.getMethodCount(),
+                previous != null ? ", replacing version " + previous.getVersion() : "");
+    }
+}
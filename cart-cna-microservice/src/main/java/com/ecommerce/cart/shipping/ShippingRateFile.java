@@ -0,0 +1,69 @@
+package com.ecommerce.cart.shipping;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * On-disk representation of the shipping zones and rates, as read from the rates file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShippingRateFile {
+
+    private String version;
+
+    /** Zone for pincodes that no prefix rule covers. */
+    private ShippingZone defaultZone = ShippingZone.NATIONAL;
+
+    /** Weight assumed for items that don't carry one. */
+    private int defaultItemWeightGrams = 500;
+
+    private List<ZoneRule> zones = new ArrayList<>();
+
+    private List<MethodRates> methods = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ZoneRule {
+        /** Leading one to three digits of the pincode; the longest matching prefix wins. */
+        private String prefix;
+
+        private ShippingZone zone;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MethodRates {
+        private String method;
+
+        /** Weight covered by the base rate. */
+        private int includedWeightGrams;
+
+        /** Size of each charged weight step beyond the included weight. */
+        private int weightStepGrams = 500;
+
+        /** Carts with a subtotal at or above this value ship free; null if the method is never free. */
+        private Float freeAbove;
+
+        /** Rate per zone; every zone must be priced. */
+        private Map<ShippingZone, Rate> rates = new EnumMap<>(ShippingZone.class);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rate {
+        private float base;
+
+        private float perStep;
+    }
+}
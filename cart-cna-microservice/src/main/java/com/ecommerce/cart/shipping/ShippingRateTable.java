@@ -0,0 +1,179 @@
+package com.ecommerce.cart.shipping;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compiled form of a {@link ShippingRateFile}.
+ * Zone rules are expanded into an array indexed by the first three pincode digits, and rates into flat
+ * arrays indexed by method and zone, so a quote is a few array reads and a hash lookup of the method name.
+ */
+public final class ShippingRateTable {
+
+    private static final int PREFIX_DIGITS = 3;
+    private static final int PREFIXES = 1000;
+    private static final ShippingZone[] ZONES = ShippingZone.values();
+
+    private final String version;
+    private final byte[] zoneByPrefix;
+    private final ShippingZone defaultZone;
+    private final int defaultItemWeightGrams;
+    private final Map<String, Integer> methodIndex;
+    private final int[] includedWeightGrams;
+    private final int[] weightStepGrams;
+    private final float[] freeAbove;
+    private final float[] baseRates;
+    private final float[] stepRates;
+
+    private ShippingRateTable(String version, byte[] zoneByPrefix, ShippingZone defaultZone, int defaultItemWeightGrams,
+                              Map<String, Integer> methodIndex, int[] includedWeightGrams, int[] weightStepGrams,
+                              float[] freeAbove, float[] baseRates, float[] stepRates) {
+        this.version = version;
+        this.zoneByPrefix = zoneByPrefix;
+        this.defaultZone = defaultZone;
+        this.defaultItemWeightGrams = defaultItemWeightGrams;
+        this.methodIndex = methodIndex;
+        this.includedWeightGrams = includedWeightGrams;
+        this.weightStepGrams = weightStepGrams;
+        this.freeAbove = freeAbove;
+        this.baseRates = baseRates;
+        this.stepRates = stepRates;
+    }
+
+    /**
+     * Validates and compiles a rates file.
+     */
+    public static ShippingRateTable compile(ShippingRateFile file) {
+        if (file.getVersion() == null || file.getVersion().isEmpty()) {
+            throw new IllegalArgumentException("Shipping rates version is missing");
+        }
+        ShippingZone defaultZone = file.getDefaultZone() != null ? file.getDefaultZone() : ShippingZone.NATIONAL;
+        if (file.getDefaultItemWeightGrams() < 0) {
+            throw new IllegalArgumentException("Default item weight cannot be negative");
+        }
+
+        byte[] zoneByPrefix = new byte[PREFIXES];
+        Arrays.fill(zoneByPrefix, (byte) defaultZone.ordinal());
+        List<ShippingRateFile.ZoneRule> zones = file.getZones() != null ? file.getZones() : List.of();
+        // Shorter prefixes are applied first so longer, more specific ones overwrite them
+        zones.stream()
+                .sorted(Comparator.comparingInt(rule -> rule.getPrefix() != null ? rule.getPrefix().length() : 0))
+                .forEach(rule -> {
+                    String prefix = rule.getPrefix();
+                    if (prefix == null || prefix.isEmpty() || prefix.length() > PREFIX_DIGITS || !prefix.chars().allMatch(Character::isDigit)) {
+                        throw new IllegalArgumentException("Invalid pincode prefix: " + prefix);
+                    }
+                    if (rule.getZone() == null) {
+                        throw new IllegalArgumentException("Pincode prefix " + prefix + " has no zone");
+                    }
+                    int span = pow10(PREFIX_DIGITS - prefix.length());
+                    int start = Integer.parseInt(prefix) * span;
+                    Arrays.fill(zoneByPrefix, start, start + span, (byte) rule.getZone().ordinal());
+                });
+
+        List<ShippingRateFile.MethodRates> methods = file.getMethods() != null ? file.getMethods() : List.of();
+        if (methods.isEmpty()) {
+            throw new IllegalArgumentException("No shipping methods defined");
+        }
+        Map<String, Integer> methodIndex = new HashMap<>();
+        int[] included = new int[methods.size()];
+        int[] steps = new int[methods.size()];
+        float[] free = new float[methods.size()];
+        float[] base = new float[methods.size() * ZONES.length];
+        float[] perStep = new float[methods.size() * ZONES.length];
+
+        for (int m = 0; m < methods.size(); m++) {
+            ShippingRateFile.MethodRates method = methods.get(m);
+            if (method.getMethod() == null || method.getMethod().isEmpty()) {
+                throw new IllegalArgumentException("Shipping method name is missing");
+            }
+            if (methodIndex.putIfAbsent(method.getMethod(), m) != null) {
+                throw new IllegalArgumentException("Duplicate shipping method " + method.getMethod());
+            }
+            if (method.getIncludedWeightGrams() < 0 || method.getWeightStepGrams() <= 0) {
+                throw new IllegalArgumentException("Invalid weight steps for shipping method " + method.getMethod());
+            }
+            included[m] = method.getIncludedWeightGrams();
+            steps[m] = method.getWeightStepGrams();
+            free[m] = method.getFreeAbove() != null ? method.getFreeAbove() : Float.POSITIVE_INFINITY;
+            for (ShippingZone zone : ZONES) {
+                ShippingRateFile.Rate rate = method.getRates() != null ? method.getRates().get(zone) : null;
+                if (rate == null) {
+                    throw new IllegalArgumentException("Shipping method " + method.getMethod() + " has no rate for " + zone);
+                }
+                if (rate.getBase() < 0 || rate.getPerStep() < 0) {
+                    throw new IllegalArgumentException("Negative rate for shipping method " + method.getMethod() + " in " + zone);
+                }
+                base[m * ZONES.length + zone.ordinal()] = rate.getBase();
+                perStep[m * ZONES.length + zone.ordinal()] = rate.getPerStep();
+            }
+        }
+
+        return new ShippingRateTable(file.getVersion(), zoneByPrefix, defaultZone, file.getDefaultItemWeightGrams(),
+                Map.copyOf(methodIndex), included, steps, free, base, perStep);
+    }
+
+    /**
+     * Resolves the zone of a pincode from its first three digits; malformed or missing pincodes get the default zone.
+     */
+    public ShippingZone zoneOf(String pincode) {
+        if (pincode == null || pincode.length() < PREFIX_DIGITS) {
+            return defaultZone;
+        }
+        int prefix = 0;
+        for (int i = 0; i < PREFIX_DIGITS; i++) {
+            char c = pincode.charAt(i);
+            if (c < '0' || c > '9') {
+                return defaultZone;
+            }
+            prefix = prefix * 10 + (c - '0');
+        }
+        return ZONES[zoneByPrefix[prefix]];
+    }
+
+    public boolean hasMethod(String method) {
+        return methodIndex.containsKey(method);
+    }
+
+    /**
+     * Prices a shipment. Allocation-free.
+     *
+     * @throws UnknownShippingMethodException if the method is unknown
+     */
+    public float quote(String method, String pincode, int weightGrams, float cartValue) {
+        Integer m = methodIndex.get(method);
+        if (m == null) {
+            throw new UnknownShippingMethodException(method);
+        }
+        if (cartValue >= freeAbove[m]) {
+            return 0.0f;
+        }
+        int rate = m * ZONES.length + zoneOf(pincode).ordinal();
+        int extraWeight = Math.max(0, weightGrams - includedWeightGrams[m]);
+        int extraSteps = (extraWeight + weightStepGrams[m] - 1) / weightStepGrams[m];
+        return baseRates[rate] + extraSteps * stepRates[rate];
+    }
+
+    public int getDefaultItemWeightGrams() {
+        return defaultItemWeightGrams;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int getMethodCount() {
+        return methodIndex.size();
+    }
+
+    private static int pow10(int exponent) {
+        int value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.cart.shipping;
+
+/**
+ * Delivery zones, relative to the fulfilment origin, that shipping rates are priced by.
+ */
+public enum ShippingZone {
+    LOCAL,
+    REGIONAL,
+    NATIONAL,
+    REMOTE
+}
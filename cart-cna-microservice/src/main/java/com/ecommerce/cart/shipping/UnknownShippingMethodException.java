@@ -0,0 +1,17 @@
+package com.ecommerce.cart.shipping;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a cart asks for a shipping method the rate table does not define; surfaces as 400.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnknownShippingMethodException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnknownShippingMethodException(String method) {
+        super("Unknown shipping method: " + method);
+    }
+}
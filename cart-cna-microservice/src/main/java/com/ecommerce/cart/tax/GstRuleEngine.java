@@ -0,0 +1,97 @@
+package com.ecommerce.cart.tax;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Data-driven GST slab lookup.
+ * Rules are loaded from a versioned JSON file, compiled into a {@link GstRuleTable} and swapped in
+ * atomically whenever the file changes, so readers never see a half-loaded rule set.
+ */
+@Component
+public class GstRuleEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GstRuleEngine.class);
+
+    public static final String DEFAULT_RULES_LOCATION = "classpath:gst-rules.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Resource rulesResource;
+
+    private final AtomicReference<GstRuleTable> rules = new AtomicReference<>();
+
+    private volatile long loadedModified = -1L;
+
+    @Autowired
+    public GstRuleEngine(ResourceLoader resourceLoader,
+                         @Value("${cart.tax.rules-location:" + DEFAULT_RULES_LOCATION + "}") String rulesLocation) {
+        this.rulesResource = resourceLoader.getResource(rulesLocation);
+        try {
+            reload();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Unable to load GST rules from " + rulesLocation, e);
+        }
+    }
+
+    /**
+     * Engine backed by the bundled rules, for use outside the Spring context.
+     */
+    public static GstRuleEngine withDefaultRules() {
+        return new GstRuleEngine(new DefaultResourceLoader(), DEFAULT_RULES_LOCATION);
+    }
+
+    public GSTCategory lookup(ProductCategory category, float unitPrice) {
+        return rules.get().lookup(category, unitPrice);
+    }
+
+    public GstRuleTable currentRules() {
+        return rules.get();
+    }
+
+    /**
+     * Polls the rules file and hot-swaps the compiled table when it has changed.
+     * A broken file is logged and ignored; the previous rules stay active.
+     */
+    @Scheduled(fixedDelayString = "${cart.tax.reload-interval-ms:30000}",
+            initialDelayString = "${cart.tax.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        try {
+            if (rulesResource.lastModified() != loadedModified) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Failed to reload GST rules from {}, keeping version {}",
+                    rulesResource.getDescription(), rules.get().getVersion(), e);
+        }
+    }
+
+    synchronized void reload() throws IOException {
+        long modified = rulesResource.lastModified();
+        GstRuleFile file;
+        try (InputStream in = rulesResource.getInputStream()) {
+            file = MAPPER.readValue(in, GstRuleFile.class);
+        }
+        GstRuleTable compiled = GstRuleTable.compile(file);
+        GstRuleTable previous = rules.getAndSet(compiled);
+        loadedModified = modified;
+
+        LOG.info("Loaded GST rules version {} ({} rules){}", compiled.getVersion(), compiled.getRuleCount(),
+                previous != null ? ", replacing version " + previous.getVersion() : "");
+    }
+}
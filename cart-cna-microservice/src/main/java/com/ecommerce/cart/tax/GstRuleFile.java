@@ -0,0 +1,39 @@
+package com.ecommerce.cart.tax;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * On-disk representation of the GST slab rules, as read from the rules file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GstRuleFile {
+
+    private String version;
+
+    /** Slab for categories (or price ranges) that no rule covers. */
+    private GSTCategory defaultSlab = GSTCategory.GST_18;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private ProductCategory category;
+
+        /** Rule applies when the unit price is strictly above this value; null for the base bracket. */
+        private Float above;
+
+        private GSTCategory slab;
+    }
+}
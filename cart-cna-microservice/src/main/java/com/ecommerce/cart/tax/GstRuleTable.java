@@ -0,0 +1,106 @@
+package com.ecommerce.cart.tax;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+
+/**
+ * Immutable, compiled form of a {@link GstRuleFile}.
+ * Rules are indexed by {@link ProductCategory} ordinal, each holding its price brackets sorted by
+ * lower bound, so a lookup is an array index plus a binary search over that category's brackets only.
+ */
+public final class GstRuleTable {
+
+    private final String version;
+    private final int ruleCount;
+    private final float[][] bracketFloors;
+    private final GSTCategory[][] bracketSlabs;
+    private final GSTCategory defaultSlab;
+
+    private GstRuleTable(String version, int ruleCount, float[][] bracketFloors, GSTCategory[][] bracketSlabs,
+                         GSTCategory defaultSlab) {
+        this.version = version;
+        this.ruleCount = ruleCount;
+        this.bracketFloors = bracketFloors;
+        this.bracketSlabs = bracketSlabs;
+        this.defaultSlab = defaultSlab;
+    }
+
+    /**
+     * Validates and compiles a rules file.
+     */
+    public static GstRuleTable compile(GstRuleFile file) {
+        if (file.getVersion() == null || file.getVersion().isEmpty()) {
+            throw new IllegalArgumentException("GST rules version is missing");
+        }
+        GSTCategory defaultSlab = file.getDefaultSlab() != null ? file.getDefaultSlab() : GSTCategory.GST_18;
+        List<GstRuleFile.Rule> rules = file.getRules() != null ? file.getRules() : List.of();
+
+        ProductCategory[] categories = ProductCategory.values();
+        float[][] floors = new float[categories.length][];
+        GSTCategory[][] slabs = new GSTCategory[categories.length][];
+
+        for (ProductCategory category : categories) {
+            GstRuleFile.Rule[] brackets = rules.stream()
+                    .filter(rule -> rule.getCategory() == category)
+                    .sorted((a, b) -> Float.compare(floorOf(a), floorOf(b)))
+                    .toArray(GstRuleFile.Rule[]::new);
+
+            // Every category gets a base bracket so lookups never fall off the front of the array
+            boolean hasBase = brackets.length > 0 && brackets[0].getAbove() == null;
+            int size = brackets.length + (hasBase ? 0 : 1);
+            float[] categoryFloors = new float[size];
+            GSTCategory[] categorySlabs = new GSTCategory[size];
+            int offset = 0;
+            if (!hasBase) {
+                categoryFloors[0] = Float.NEGATIVE_INFINITY;
+                categorySlabs[0] = defaultSlab;
+                offset = 1;
+            }
+            for (int i = 0; i < brackets.length; i++) {
+                GstRuleFile.Rule rule = brackets[i];
+                if (rule.getSlab() == null) {
+                    throw new IllegalArgumentException("GST rule for " + category + " has no slab");
+                }
+                float floor = floorOf(rule);
+                if (i > 0 && floor == floorOf(brackets[i - 1])) {
+                    throw new IllegalArgumentException("Duplicate GST bracket for " + category + " above " + rule.getAbove());
+                }
+                categoryFloors[offset + i] = floor;
+                categorySlabs[offset + i] = rule.getSlab();
+            }
+            floors[category.ordinal()] = categoryFloors;
+            slabs[category.ordinal()] = categorySlabs;
+        }
+
+        return new GstRuleTable(file.getVersion(), rules.size(), floors, slabs, defaultSlab);
+    }
+
+    /**
+     * Resolves the GST slab for a product category at the given unit price. Allocation-free.
+     */
+    public GSTCategory lookup(ProductCategory category, float unitPrice) {
+        if (category == null) {
+            return defaultSlab;
+        }
+        float[] floors = bracketFloors[category.ordinal()];
+        int index = Arrays.binarySearch(floors, unitPrice);
+        // A price equal to a floor is not "above" it, so it belongs to the bracket below
+        index = index >= 0 ? index - 1 : -index - 2;
+        return bracketSlabs[category.ordinal()][Math.max(index, 0)];
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    private static float floorOf(GstRuleFile.Rule rule) {
+        return rule.getAbove() != null ? rule.getAbove() : Float.NEGATIVE_INFINITY;
+    }
+}
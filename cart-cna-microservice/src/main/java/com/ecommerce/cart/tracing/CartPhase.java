@@ -0,0 +1,26 @@
+package com.ecommerce.cart.tracing;
+
+/**
+ * Timed phases of cart reads and writes.
+ */
+public enum CartPhase {
+    DECODE("cart.decode"),
+    METADATA("cart.metadata"),
+    TAX("cart.tax"),
+    SHIPPING("cart.shipping"),
+    CATALOG("cart.catalog"),
+    SERIALIZE("cart.serialize"),
+    REDIS_WRITE("cart.redis.write"),
+    REDIS_READ("cart.redis.read"),
+    REHYDRATE("cart.rehydrate");
+
+    private final String spanName;
+
+    CartPhase(String spanName) {
+        this.spanName = spanName;
+    }
+
+    public String getSpanName() {
+        return spanName;
+    }
+}
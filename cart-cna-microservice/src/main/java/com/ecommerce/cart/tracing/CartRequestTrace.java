@@ -0,0 +1,187 @@
+package com.ecommerce.cart.tracing;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.cloud.sleuth.Tracer;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Phase timings of a single cart request.
+ * <p>
+ * Every request accumulates its phase durations from {@link System#nanoTime()}, which costs a few
+ * nanoseconds per phase. Child spans are only opened when the request's trace was sampled, so the
+ * Sleuth sampler bounds the tracing overhead. On {@link #finish()} requests over the slow threshold
+ * are copied into the {@link SlowRequestLog}.
+ */
+public class CartRequestTrace {
+
+    private static final CartPhase[] PHASES = CartPhase.values();
+
+    /** A trace that runs each phase without timing it. */
+    public static final CartRequestTrace NONE = new CartRequestTrace(null, null, null, null, 0);
+
+    private final String operation;
+    private final Tracer tracer;
+    private final TraceContext parent;
+    private final SlowRequestLog slowRequestLog;
+    private final long slowThresholdNanos;
+    private final long startNanos;
+    private final long[] phaseNanos = new long[PHASES.length];
+
+    private volatile String customerId;
+    private volatile int itemCount;
+    private volatile int payloadBytes;
+
+    CartRequestTrace(String operation, Tracer tracer, TraceContext parent, SlowRequestLog slowRequestLog, long slowThresholdNanos) {
+        this.operation = operation;
+        this.tracer = tracer;
+        this.parent = parent;
+        this.slowRequestLog = slowRequestLog;
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.startNanos = System.nanoTime();
+    }
+
+    private boolean isEnabled() {
+        return slowRequestLog != null;
+    }
+
+    public void cart(String customerId, int itemCount) {
+        this.customerId = customerId;
+        this.itemCount = itemCount;
+    }
+
+    public void payload(int payloadBytes) {
+        this.payloadBytes = payloadBytes;
+    }
+
+    /**
+     * Records the time from the start of the request until now as the given phase, for work that
+     * began before the trace could see it, such as decoding the request body. No span is opened for it;
+     * the request span already covers that time.
+     */
+    public void sinceStart(CartPhase phase) {
+        if (isEnabled()) {
+            add(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    public void time(CartPhase phase, Runnable work) {
+        time(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T time(CartPhase phase, Supplier<T> work) {
+        if (!isEnabled()) {
+            return work.get();
+        }
+        Span span = startSpan(phase);
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            if (span != null) {
+                span.error(e);
+            }
+            throw e;
+        } finally {
+            add(phase, System.nanoTime() - start);
+            if (span != null) {
+                tag(span).end();
+            }
+        }
+    }
+
+    /**
+     * Times the given publisher from subscription until it emits, completes or fails.
+     */
+    public <T> Mono<T> time(CartPhase phase, Mono<T> work) {
+        if (!isEnabled()) {
+            return work;
+        }
+        return Mono.defer(() -> {
+            Span span = startSpan(phase);
+            long start = System.nanoTime();
+            boolean[] ended = new boolean[1];
+            Runnable end = () -> {
+                if (!ended[0]) {
+                    ended[0] = true;
+                    add(phase, System.nanoTime() - start);
+                    if (span != null) {
+                        tag(span).end();
+                    }
+                }
+            };
+            return work.doOnSuccess(value -> end.run())
+                    .doOnError(e -> {
+                        if (span != null) {
+                            span.error(e);
+                        }
+                        end.run();
+                    })
+                    .doOnCancel(end);
+        });
+    }
+
+    /**
+     * Ends the request, keeping it in the slow request log when it took at least the threshold.
+     */
+    public void finish() {
+        if (!isEnabled()) {
+            return;
+        }
+        long totalNanos = System.nanoTime() - startNanos;
+        if (totalNanos < slowThresholdNanos) {
+            return;
+        }
+        Map<String, Double> phaseMillis = new LinkedHashMap<>();
+        synchronized (phaseNanos) {
+            for (CartPhase phase : PHASES) {
+                long nanos = phaseNanos[phase.ordinal()];
+                if (nanos > 0) {
+                    phaseMillis.put(phase.getSpanName(), millis(nanos));
+                }
+            }
+        }
+        slowRequestLog.record(new SlowRequest(Instant.now(), operation, customerId,
+                parent != null ? parent.traceId() : null, millis(totalNanos), itemCount, payloadBytes, phaseMillis));
+    }
+
+    long phaseNanos(CartPhase phase) {
+        synchronized (phaseNanos) {
+            return phaseNanos[phase.ordinal()];
+        }
+    }
+
+    private void add(CartPhase phase, long nanos) {
+        // phases of one request run one after another, possibly on different threads
+        synchronized (phaseNanos) {
+            phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    private Span startSpan(CartPhase phase) {
+        return parent != null ? tracer.spanBuilder().setParent(parent).name(phase.getSpanName()).start() : null;
+    }
+
+    private Span tag(Span span) {
+        if (itemCount > 0) {
+            span.tag("cart.items", Integer.toString(itemCount));
+        }
+        if (payloadBytes > 0) {
+            span.tag("cart.payload.bytes", Integer.toString(payloadBytes));
+        }
+        return span;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
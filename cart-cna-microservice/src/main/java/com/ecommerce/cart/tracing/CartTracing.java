@@ -0,0 +1,56 @@
+package com.ecommerce.cart.tracing;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.CartTracingProperties;
+
+import reactor.util.context.ContextView;
+
+/**
+ * Starts {@link CartRequestTrace}s, parented on the request span that Sleuth's web filter puts into
+ * the Reactor context.
+ */
+@Component
+public class CartTracing {
+
+    private final CartTracingProperties properties;
+    private final SlowRequestLog slowRequestLog;
+    private final Tracer tracer;
+
+    public CartTracing(CartTracingProperties properties, SlowRequestLog slowRequestLog, ObjectProvider<Tracer> tracer) {
+        this.properties = properties;
+        this.slowRequestLog = slowRequestLog;
+        this.tracer = properties.isSpansEnabled() ? tracer.getIfAvailable() : null;
+    }
+
+    public CartRequestTrace start(String operation, ContextView context) {
+        if (!properties.isEnabled()) {
+            return CartRequestTrace.NONE;
+        }
+        TraceContext parent = sampledParent(context);
+        return new CartRequestTrace(operation, parent != null ? tracer : null, parent, slowRequestLog,
+                TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMs()));
+    }
+
+    private TraceContext sampledParent(ContextView context) {
+        if (tracer == null) {
+            return null;
+        }
+        TraceContext parent = null;
+        if (context.hasKey(TraceContext.class)) {
+            parent = context.get(TraceContext.class);
+        } else if (context.hasKey(Span.class)) {
+            parent = context.<Span>get(Span.class).context();
+        } else {
+            Span current = tracer.currentSpan();
+            parent = current != null ? current.context() : null;
+        }
+        return parent != null && Boolean.TRUE.equals(parent.sampled()) ? parent : null;
+    }
+}
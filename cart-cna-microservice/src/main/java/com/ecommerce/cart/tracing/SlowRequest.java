@@ -0,0 +1,23 @@
+package com.ecommerce.cart.tracing;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Phase timings of one slow cart request.
+ */
+@Data
+@AllArgsConstructor
+public class SlowRequest {
+    private Instant finishedAt;
+    private String operation;
+    private String customerId;
+    private String traceId;
+    private double totalMillis;
+    private int itemCount;
+    private int payloadBytes;
+    private Map<String, Double> phaseMillis;
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.cart.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.CartTracingProperties;
+
+/**
+ * Fixed-size ring of the most recent slow cart requests. Recording is a counter increment and an
+ * array store, and only requests over the threshold are recorded at all.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowRequestLog(CartTracingProperties properties) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, properties.getSlowRequestCapacity()));
+    }
+
+    public void record(SlowRequest request) {
+        long index = next.getAndIncrement();
+        slots.set((int) (index % slots.length()), request);
+    }
+
+    /**
+     * The retained slow requests, most recent first.
+     */
+    public List<SlowRequest> recent() {
+        long last = next.get();
+        int count = (int) Math.min(last, slots.length());
+        List<SlowRequest> requests = new ArrayList<>(count);
+        for (long index = last - 1; index >= last - count; index--) {
+            SlowRequest request = slots.get((int) (index % slots.length()));
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.cart.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.cart.config.CartTracingProperties;
+
+/**
+ * Actuator endpoint listing recent slow cart requests with their phase timings: {@code /actuator/slowrequests}.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+    private final CartTracingProperties properties;
+
+    public SlowRequestsEndpoint(SlowRequestLog slowRequestLog, CartTracingProperties properties) {
+        this.slowRequestLog = slowRequestLog;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowRequests() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("thresholdMs", properties.getSlowThresholdMs());
+        report.put("requests", slowRequestLog.recent());
+        return report;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.cart;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+/**
+ * Guards the test mode itself: a blocking call on a non-blocking thread must fail.
+ */
+public class BlockingCallDetectionTest {
+
+    @Test
+    public void blockingCallOnParallelThreadShouldFail() {
+        Mono<Long> blocking = Mono.delay(Duration.ofMillis(1))
+                .doOnNext(tick -> {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .subscribeOn(Schedulers.parallel());
+
+        StepVerifier.create(blocking)
+                .expectErrorMatches(e -> e.getClass().getName().equals("reactor.blockhound.BlockingOperationError"))
+                .verify();
+    }
+}
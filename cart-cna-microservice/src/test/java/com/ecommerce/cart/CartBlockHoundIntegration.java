@@ -0,0 +1,19 @@
+package com.ecommerce.cart;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * Allow-list for blocking calls that are acceptable on event-loop threads during tests.
+ * Registered through META-INF/services and picked up when BlockHound installs.
+ */
+public class CartBlockHoundIntegration implements BlockHoundIntegration {
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        // Console logging writes synchronously; the production appender setup is out of scope here
+        builder.allowBlockingCallsInside("ch.qos.logback.core.OutputStreamAppender", "writeBytes");
+        // Class loading and static initialization on first use
+        builder.allowBlockingCallsInside("java.lang.ClassLoader", "loadClass");
+    }
+}
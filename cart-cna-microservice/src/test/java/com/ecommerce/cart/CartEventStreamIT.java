@@ -0,0 +1,113 @@
+package com.ecommerce.cart;
+
+import com.ecommerce.cart.config.CartEventProperties;
+import com.ecommerce.cart.events.CartEvent;
+import com.ecommerce.cart.events.CartEventConsumer;
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.model.ProductCategory;
+import com.ecommerce.cart.service.CartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = CartApplication.class)
+public class CartEventStreamIT {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartEventConsumer cartEventConsumer;
+
+    @Autowired
+    private CartEventProperties eventProperties;
+
+    @Autowired
+    private ReactiveStringRedisTemplate stringRedisTemplate;
+
+    @Test
+    public void writesAndDeletesShouldBeDeliveredInOrderWithSequenceNumbers() throws InterruptedException {
+        String customerId = "events-" + UUID.randomUUID();
+        List<CartEvent> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = cartEventConsumer.subscribe("it-" + UUID.randomUUID(), "consumer-1", batch -> {
+            received.addAll(batch.stream().filter(e -> e.getCustomerId().equals(customerId)).collect(Collectors.toList()));
+            return Mono.empty();
+        });
+
+        try {
+            CartItem item = new CartItem("p-1", "sku-1", "Sneakers", ProductCategory.GENERAL, 2, 75.0f, "INR", null);
+            cartService.addOrModifyCartItem(Mono.just(new Cart(customerId, List.of(item), 0, 0, 0, "INR", null, 0))).block();
+            cartService.addOrModifyCartItem(Mono.just(new Cart(customerId, List.of(item, item), 0, 0, 0, "INR", null, 0))).block();
+            assertTrue(cartService.deleteCartItemById(customerId).block());
+
+            for (int i = 0; i < 50 && received.size() < 3; i++) {
+                Thread.sleep(100);
+            }
+        } finally {
+            subscription.dispose();
+        }
+
+        assertEquals(3, received.size());
+        assertEquals(CartEvent.Operation.SET, received.get(0).getOperation());
+        assertEquals(1, received.get(0).getItemCount());
+        assertEquals(2, received.get(1).getItemCount());
+        assertEquals(CartEvent.Operation.DEL, received.get(2).getOperation());
+        assertTrue(received.get(0).getSequence() < received.get(1).getSequence());
+        assertTrue(received.get(1).getSequence() < received.get(2).getSequence());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void pendingEntriesTrimmedFromTheStreamShouldBeSkipped() throws InterruptedException {
+        String customerId = "events-" + UUID.randomUUID();
+        String group = "it-" + UUID.randomUUID();
+        String streamKey = eventProperties.getStreamKey();
+        CartItem item = new CartItem("p-1", "sku-1", "Sneakers", ProductCategory.GENERAL, 1, 75.0f, "INR", null);
+        cartService.addOrModifyCartItem(Mono.just(new Cart(customerId, List.of(item), 0, 0, 0, "INR", null, 0))).block();
+        stringRedisTemplate.opsForStream().createGroup(streamKey, ReadOffset.latest(), group).block();
+
+        // Leave the next entry pending for consumer-1, then remove its body as MAXLEN trimming would
+        cartService.addOrModifyCartItem(Mono.just(new Cart(customerId, List.of(item, item), 0, 0, 0, "INR", null, 0))).block();
+        List<MapRecord<String, Object, Object>> pending = stringRedisTemplate.opsForStream()
+                .read(Consumer.from(group, "consumer-1"), StreamReadOptions.empty().count(10),
+                        StreamOffset.create(streamKey, ReadOffset.lastConsumed()))
+                .collectList().block();
+        assertNotNull(pending);
+        assertEquals(1, pending.size());
+        stringRedisTemplate.opsForStream().delete(streamKey, pending.get(0).getId()).block();
+
+        List<CartEvent> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = cartEventConsumer.subscribe(group, "consumer-1", batch -> {
+            received.addAll(batch.stream().filter(e -> e.getCustomerId().equals(customerId)).collect(Collectors.toList()));
+            return Mono.empty();
+        });
+
+        try {
+            assertTrue(cartService.deleteCartItemById(customerId).block());
+            for (int i = 0; i < 50 && received.isEmpty(); i++) {
+                Thread.sleep(100);
+            }
+        } finally {
+            subscription.dispose();
+        }
+
+        assertEquals(1, received.size());
+        assertEquals(CartEvent.Operation.DEL, received.get(0).getOperation());
+    }
+}
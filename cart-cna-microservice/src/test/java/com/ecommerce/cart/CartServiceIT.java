@@ -1,16 +1,25 @@
 package com.ecommerce.cart;
 
+import com.ecommerce.cart.config.CartStorageProperties;
+import com.ecommerce.cart.hotkey.HotKeyTracker;
 import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartImportResult;
 import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.model.GSTCategory;
 import com.ecommerce.cart.model.ProductCategory;
+import com.ecommerce.cart.service.CartProjection;
 import com.ecommerce.cart.service.CartService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,6 +29,15 @@ public class CartServiceIT {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private ReactiveRedisTemplate<String, Cart> redisTemplate;
+
+    @Autowired
+    private CartStorageProperties storageProperties;
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
     @BeforeEach
     public void clearRedis() {
         cartService.listCartData()
@@ -79,4 +97,125 @@ public class CartServiceIT {
             cartService.addOrModifyCartItem(Mono.just(cart)).block();
         });
     }
+
+    @Test
+    public void mergeCartsShouldCombineItemsAndDeleteGuestCart() {
+        CartItem shared = new CartItem("p-1", "sku-1", "Sneakers", ProductCategory.GENERAL, 1, 100.0f, "INR", null);
+        CartItem guestShared = new CartItem("p-1", "sku-1", "Sneakers", ProductCategory.GENERAL, 2, 100.0f, "INR", null);
+        CartItem guestOnly = new CartItem("p-2", "sku-2", "Backpack", ProductCategory.GENERAL, 1, 50.0f, "INR", null);
+        cartService.addOrModifyCartItem(Mono.just(getShoppingCart("user@example.com", List.of(shared)))).block();
+        cartService.addOrModifyCartItem(Mono.just(getShoppingCart("guest-user", List.of(guestShared, guestOnly)))).block();
+
+        Cart merged = cartService.mergeCarts("user@example.com", "guest-user").block();
+
+        assertNotNull(merged);
+        assertEquals(2, merged.getItems().size());
+        assertEquals(3, merged.getItems().get(0).getQuantity());
+        assertEquals(350.0f, merged.getSubtotal());
+        assertEquals(merged, cartService.getCartById("user@example.com").block());
+        assertNull(cartService.getCartById("guest-user").block());
+    }
+
+    @Test
+    public void mergeCartsWithoutGuestCartShouldReturnCustomerCart() {
+        cartService.addOrModifyCartItem(Mono.just(getShoppingCart("custC", List.of(getCartItem("Sneakers", 1, 75.0f))))).block();
+
+        Cart merged = cartService.mergeCarts("custC", "missing-guest").block();
+
+        assertNotNull(merged);
+        assertEquals(75.0f, merged.getSubtotal());
+    }
+
+    @Test
+    public void importCartsShouldStoreValidLinesAndReportBadOnes() {
+        Flux<String> lines = Flux.just(
+                "{\"customerId\":\"import-1\",\"items\":[{\"productId\":\"p-1\",\"sku\":\"sku-1\",\"title\":\"Sneakers\",\"quantity\":2,\"price\":100.0}]}",
+                "",
+                "{\"customerId\":\"import-2\",\"items\":[",
+                "{\"customerId\":\"import-3\",\"items\":[{\"productId\":\"p-2\",\"quantity\":0,\"price\":10.0}]}",
+                "{\"customerId\":\"import-4\",\"items\":[{\"productId\":\"p-3\",\"sku\":\"sku-3\",\"title\":\"Backpack\",\"quantity\":1,\"price\":50.0}]}");
+
+        CartImportResult result = cartService.importCarts(lines).block();
+
+        assertNotNull(result);
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(0, result.getFailed());
+        assertEquals(0, result.getRetryable());
+        assertTrue(result.getErrors().get(0).startsWith("line 3:") || result.getErrors().get(1).startsWith("line 3:"));
+        assertEquals(200.0f, cartService.getCartById("import-1").block().getSubtotal());
+        assertNull(cartService.getCartById("import-3").block());
+
+        List<String> exported = cartService.exportCarts().map(Cart::getCustomerId).collectList().block();
+        assertTrue(exported.containsAll(List.of("import-1", "import-4")));
+    }
+
+    @Test
+    public void summaryListingShouldIncludeCartsStoredWithoutSummary() {
+        cartService.addOrModifyCartItem(Mono.just(getShoppingCart("custD", List.of(getCartItem("Sneakers", 2, 75.0f))))).block();
+        // Written directly, as carts were before summaries were stored alongside them
+        Cart legacy = getShoppingCart("legacy", List.of(getCartItem("Backpack", 3, 40.0f)));
+        legacy.setTotal(120.0f);
+        redisTemplate.opsForValue().set("legacy", legacy).block();
+
+        List<Map<String, Object>> rows = cartService.listCartProjections(CartProjection.of(null, "customerId,itemCount,total"))
+                .collectList().block();
+
+        assertNotNull(rows);
+        Map<String, Object> legacyRow = rows.stream().filter(row -> "legacy".equals(row.get("customerId"))).findFirst().orElse(null);
+        assertNotNull(legacyRow);
+        assertEquals(1, legacyRow.get("itemCount"));
+        assertEquals(120.0f, legacyRow.get("total"));
+        assertTrue(rows.stream().anyMatch(row -> "custD".equals(row.get("customerId"))));
+    }
+
+    @Test
+    public void normalizedCartsShouldStayCompleteAfterNormalizationIsSwitchedOff() {
+        CartItem item = new CartItem("normalized-p-1", "sku-n1", "Running Shoes", ProductCategory.SHOES, 1, 2000.0f, "INR", GSTCategory.GST_18);
+        storageProperties.setNormalized(true);
+        try {
+            cartService.addOrModifyCartItem(Mono.just(getShoppingCart("normalized", List.of(item)))).block();
+        } finally {
+            storageProperties.setNormalized(false);
+        }
+        assertNull(redisTemplate.opsForValue().get("normalized").block().getItems().get(0).getTitle(), "stored without metadata");
+
+        Cart result = cartService.getCartById("normalized").block();
+
+        assertNotNull(result);
+        CartItem read = result.getItems().get(0);
+        assertEquals("Running Shoes", read.getTitle());
+        assertEquals(ProductCategory.SHOES, read.getCategory());
+        assertEquals(GSTCategory.GST_18, read.getGstCategory());
+        assertEquals("INR", read.getCurrency());
+    }
+
+    @Test
+    public void importCartsShouldApplyLinesForTheSameCustomerInOrder() {
+        Flux<String> lines = Flux.range(1, 20).map(quantity ->
+                "{\"customerId\":\"import-repeat\",\"items\":[{\"productId\":\"p-1\",\"sku\":\"sku-1\",\"title\":\"Sneakers\",\"quantity\":"
+                        + quantity + ",\"price\":10.0}]}");
+
+        CartImportResult result = cartService.importCarts(lines).block();
+
+        assertNotNull(result);
+        assertEquals(20, result.getImported());
+        assertEquals(200.0f, cartService.getCartById("import-repeat").block().getSubtotal());
+    }
+
+    @Test
+    public void summaryProjectionFallbackShouldCountOneAccess() {
+        String customerId = "legacy-" + UUID.randomUUID();
+        // Written directly, so the cart has no stored summary and the projection falls back to the full cart
+        redisTemplate.opsForValue().set(customerId, getShoppingCart(customerId, List.of(getCartItem("Backpack", 1, 40.0f)))).block();
+
+        Map<String, Object> row = cartService.getCartProjection(customerId, CartProjection.of(null, "itemCount")).block();
+
+        assertNotNull(row);
+        assertEquals(1, row.get("itemCount"));
+        assertEquals(1, hotKeyTracker.currentWindow().stream()
+                .filter(hotKey -> hotKey.getKey().equals(customerId))
+                .mapToLong(HotKeyTracker.HotKey::getCount)
+                .sum());
+    }
 }
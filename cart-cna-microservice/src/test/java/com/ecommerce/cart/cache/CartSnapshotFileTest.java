@@ -0,0 +1,62 @@
+package com.ecommerce.cart.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartSnapshotFileTest {
+
+    @Test
+    void testSnapshotRoundTrip(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("carts.bin");
+        List<CartSnapshotFile.Entry> entries = List.of(
+                new CartSnapshotFile.Entry("alice@example.com", 3, utf8("{\"customerId\":\"alice@example.com\"}")),
+                new CartSnapshotFile.Entry("guest-user", 42, ByteBuffer.wrap(new byte[] {0x02, 0, 0, 0, 1, 7})));
+
+        CartSnapshotFile.write(path, entries, 1_700_000_000_000L);
+        CartSnapshotFile.Snapshot snapshot = CartSnapshotFile.read(path);
+
+        assertEquals(1_700_000_000_000L, snapshot.getCreatedAtMillis());
+        assertEquals(2, snapshot.getEntries().size());
+        assertEquals("alice@example.com", snapshot.getEntries().get(0).getKey());
+        assertEquals(3, snapshot.getEntries().get(0).getSequence());
+        assertEquals(utf8("{\"customerId\":\"alice@example.com\"}"), snapshot.getEntries().get(0).getValue());
+        assertEquals(42, snapshot.getEntries().get(1).getSequence());
+        assertEquals(ByteBuffer.wrap(new byte[] {0x02, 0, 0, 0, 1, 7}), snapshot.getEntries().get(1).getValue());
+    }
+
+    @Test
+    void testRewriteReplacesSnapshotAtomically(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("carts.bin");
+        CartSnapshotFile.write(path, List.of(new CartSnapshotFile.Entry("a", 1, utf8("old"))), 1L);
+        CartSnapshotFile.Snapshot first = CartSnapshotFile.read(path);
+
+        CartSnapshotFile.write(path, List.of(new CartSnapshotFile.Entry("a", 2, utf8("new"))), 2L);
+
+        assertEquals(utf8("old"), first.getEntries().get(0).getValue());
+        assertEquals(2, CartSnapshotFile.read(path).getEntries().get(0).getSequence());
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testForeignFileIsRejected(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("carts.bin");
+        Files.writeString(path, "definitely not a snapshot");
+
+        assertThrows(IOException.class, () -> CartSnapshotFile.read(path));
+    }
+
+    private static ByteBuffer utf8(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.cart.cache;
+
+import com.ecommerce.cart.config.CartCacheProperties;
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalCartCacheTest {
+
+    private static final RedisSerializationContext.SerializationPair<Cart> VALUES =
+            RedisSerializationContext.SerializationPair.fromSerializer(new Jackson2JsonRedisSerializer<>(Cart.class));
+
+    @Test
+    void testEachReadDecodesItsOwnCart() {
+        LocalCartCache cache = new LocalCartCache(new CartCacheProperties());
+        Cart stored = new Cart("customer123", List.of(
+                new CartItem("shoe-1", "SHOE001", "Nike Shoes", ProductCategory.SHOES, 1, 5000.0f, "INR", GSTCategory.GST_18)),
+                5000.0f, 0.0f, 5000.0f, "INR");
+        cache.put("customer123", VALUES.write(stored), 1);
+
+        Cart first = cache.get("customer123").cart(VALUES);
+        first.getItems().get(0).setTitle(null);
+        first.setTotal(0.0f);
+        Cart second = cache.get("customer123").cart(VALUES);
+
+        assertNotSame(first, second);
+        assertEquals("Nike Shoes", second.getItems().get(0).getTitle());
+        assertEquals(5000.0f, second.getTotal());
+    }
+
+    @Test
+    void testValueIsReadOnly() {
+        LocalCartCache cache = new LocalCartCache(new CartCacheProperties());
+        cache.put("customer123", ByteBuffer.wrap(new byte[] {1, 2, 3}), 1);
+
+        assertTrue(cache.get("customer123").getValue().isReadOnly());
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.cart.catalog;
+
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+import com.ecommerce.cart.redis.CompressingRedisSerializer;
+import com.ecommerce.cart.redis.CompressionCodec;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the stored size of whole and normalized carts, with and without compression, and projects
+ * the Redis value memory to production volumes. Runs without Redis; enable with CART_BENCHMARK=true.
+ * Volumes come from CART_VOLUME (carts), CART_CATALOG_SIZE (distinct products) and CART_ITEMS (items per cart).
+ */
+@EnabledIfEnvironmentVariable(named = "CART_BENCHMARK", matches = "true")
+class NormalizedStorageFootprintReport {
+
+    private static final int SAMPLE_CARTS = 20_000;
+    private static final ProductCategory[] CATEGORIES = ProductCategory.values();
+
+    @Test
+    void compareStoredFootprint() {
+        long volume = Long.parseLong(System.getenv().getOrDefault("CART_VOLUME", "5000000"));
+        int catalogSize = Integer.parseInt(System.getenv().getOrDefault("CART_CATALOG_SIZE", "50000"));
+        int itemsPerCart = Integer.parseInt(System.getenv().getOrDefault("CART_ITEMS", "6"));
+
+        Random random = new Random(42);
+        List<CartItem> products = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            ProductCategory category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            products.add(new CartItem("product-" + i, "SKU-" + (100000 + i),
+                    "Product " + i + " " + category.name().toLowerCase() + " regular fit, pack of " + (1 + random.nextInt(3)),
+                    category, 1, 99.0f + random.nextInt(5000), "INR", GSTCategory.determineGSTCategory(category)));
+        }
+
+        Jackson2JsonRedisSerializer<Cart> whole = new Jackson2JsonRedisSerializer<>(Cart.class);
+        Jackson2JsonRedisSerializer<Cart> normalized = new Jackson2JsonRedisSerializer<>(Cart.class);
+        normalized.setObjectMapper(new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Map<String, RedisSerializer<Cart>> layouts = new LinkedHashMap<>();
+        layouts.put("whole", whole);
+        layouts.put("whole+lz4", new CompressingRedisSerializer<>(whole, CompressionCodec.LZ4, 0, meterRegistry));
+        layouts.put("normalized", normalized);
+        layouts.put("normalized+lz4", new CompressingRedisSerializer<>(normalized, CompressionCodec.LZ4, 0, meterRegistry));
+        Jackson2JsonRedisSerializer<ProductMetadata> metadataSerializer = new Jackson2JsonRedisSerializer<>(ProductMetadata.class);
+
+        Map<String, Long> totals = new HashMap<>();
+        for (int i = 0; i < SAMPLE_CARTS; i++) {
+            List<CartItem> items = new ArrayList<>(itemsPerCart);
+            for (int j = 0; j < itemsPerCart; j++) {
+                CartItem product = products.get(random.nextInt(catalogSize));
+                items.add(new CartItem(product.getProductId(), product.getSku(), product.getTitle(), product.getCategory(),
+                        1 + random.nextInt(3), product.getPrice(), product.getCurrency(), product.getGstCategory()));
+            }
+            Cart cart = new Cart("customer-" + i, items, 0.0f, 0.0f, 0.0f, "INR", "default", 0.0f);
+            Cart stripped = stripAll(cart);
+
+            layouts.forEach((layout, serializer) ->
+                    totals.merge(layout, (long) serializer.serialize(layout.startsWith("normalized") ? stripped : cart).length, Long::sum));
+        }
+
+        long catalogBytes = 0;
+        for (CartItem product : products) {
+            catalogBytes += product.getProductId().length() + metadataSerializer.serialize(ProductMetadata.of(product)).length;
+        }
+
+        System.out.printf("carts=%d catalog=%d items/cart=%d (sample of %d carts)%n", volume, catalogSize, itemsPerCart, SAMPLE_CARTS);
+        double baseline = totals.get("whole") / (double) SAMPLE_CARTS * volume;
+        for (String layout : layouts.keySet()) {
+            double perCart = totals.get(layout) / (double) SAMPLE_CARTS;
+            double projected = perCart * volume + (layout.startsWith("normalized") ? catalogBytes : 0);
+            System.out.printf("%-16s %8.1f bytes/cart %10.1f MiB projected %6.1f%% of whole%n",
+                    layout, perCart, projected / (1024 * 1024), projected * 100 / baseline);
+        }
+        System.out.printf("catalog hash     %8.1f bytes/product %8.1f MiB%n",
+                catalogBytes / (double) catalogSize, catalogBytes / (1024.0 * 1024));
+    }
+
+    private static Cart stripAll(Cart cart) {
+        List<CartItem> items = new ArrayList<>(cart.getItems().size());
+        for (CartItem item : cart.getItems()) {
+            items.add(new CartItem(item.getProductId(), item.getSku(), null, null, item.getQuantity(), item.getPrice(), null, null));
+        }
+        return new Cart(cart.getCustomerId(), items, cart.getSubtotal(), cart.getTaxAmount(), cart.getTotal(),
+                cart.getCurrency(), cart.getShippingMethod(), cart.getShippingCost());
+    }
+}
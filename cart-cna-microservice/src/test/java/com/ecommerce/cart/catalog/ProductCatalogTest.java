@@ -0,0 +1,122 @@
+package com.ecommerce.cart.catalog;
+
+import com.ecommerce.cart.config.CartStorageProperties;
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+import com.ecommerce.cart.redis.CartKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveHashOperations<String, String, String> hashOps;
+
+    private CartStorageProperties properties;
+
+    private ProductCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOps);
+        properties = new CartStorageProperties();
+        properties.setNormalized(true);
+        catalog = new ProductCatalog(properties, redisTemplate);
+    }
+
+    @Test
+    void normalizeRegistersNewProductsAndStripsMatchingFields() {
+        when(hashOps.multiGet(eq(CartKeys.CATALOG), anyList())).thenReturn(Mono.just(Arrays.asList((String) null)));
+        when(hashOps.putIfAbsent(eq(CartKeys.CATALOG), eq("shoe-1"), anyString())).thenReturn(Mono.just(true));
+
+        Cart cart = cartOf(new CartItem("shoe-1", "SHOE001", "Nike Shoes", ProductCategory.SHOES, 2, 5000.0f, "INR", GSTCategory.GST_18));
+        Cart stored = catalog.normalize(cart).block();
+
+        CartItem item = stored.getItems().get(0);
+        assertEquals("shoe-1", item.getProductId());
+        assertEquals("SHOE001", item.getSku());
+        assertEquals(2, item.getQuantity());
+        assertEquals(5000.0f, item.getPrice());
+        assertNull(item.getTitle());
+        assertNull(item.getCategory());
+        assertNull(item.getGstCategory());
+        assertNull(item.getCurrency());
+        assertEquals("Nike Shoes", cart.getItems().get(0).getTitle(), "the priced cart is left untouched");
+    }
+
+    @Test
+    void normalizeKeepsFieldsThatDifferFromTheCatalog() {
+        when(hashOps.multiGet(eq(CartKeys.CATALOG), anyList())).thenReturn(Mono.just(Arrays.asList((String) null)));
+        when(hashOps.putIfAbsent(eq(CartKeys.CATALOG), eq("shoe-1"), anyString())).thenReturn(Mono.just(true));
+        catalog.normalize(cartOf(new CartItem("shoe-1", "SHOE001", "Nike Shoes", ProductCategory.SHOES, 1, 900.0f, "INR", GSTCategory.GST_12))).block();
+
+        Cart stored = catalog.normalize(cartOf(new CartItem("shoe-1", "SHOE001", "Nike Shoes", ProductCategory.SHOES, 1, 5000.0f, "INR", GSTCategory.GST_18))).block();
+
+        CartItem item = stored.getItems().get(0);
+        assertNull(item.getTitle());
+        assertEquals(GSTCategory.GST_18, item.getGstCategory());
+    }
+
+    @Test
+    void rehydrateFillsStrippedFieldsFromLocalCache() {
+        when(hashOps.multiGet(eq(CartKeys.CATALOG), anyList())).thenReturn(Mono.just(Arrays.asList((String) null)));
+        when(hashOps.putIfAbsent(eq(CartKeys.CATALOG), eq("shoe-1"), anyString())).thenReturn(Mono.just(true));
+        Cart stored = catalog.normalize(cartOf(new CartItem("shoe-1", "SHOE001", "Nike Shoes", ProductCategory.SHOES, 1, 5000.0f, "INR", GSTCategory.GST_18))).block();
+
+        CartItem item = catalog.rehydrate(stored).block().getItems().get(0);
+
+        assertEquals("Nike Shoes", item.getTitle());
+        assertEquals(ProductCategory.SHOES, item.getCategory());
+        assertEquals(GSTCategory.GST_18, item.getGstCategory());
+        assertEquals("INR", item.getCurrency());
+    }
+
+    @Test
+    void rehydrateFillsStrippedFieldsAfterNormalizationIsSwitchedOff() {
+        when(hashOps.multiGet(eq(CartKeys.CATALOG), anyList())).thenReturn(Mono.just(Arrays.asList((String) null)));
+        when(hashOps.putIfAbsent(eq(CartKeys.CATALOG), eq("shoe-1"), anyString())).thenReturn(Mono.just(true));
+        Cart stored = catalog.normalize(cartOf(new CartItem("shoe-1", "SHOE001", "Nike Shoes", ProductCategory.SHOES, 1, 5000.0f, "INR", GSTCategory.GST_18))).block();
+
+        properties.setNormalized(false);
+        CartItem item = catalog.rehydrate(stored).block().getItems().get(0);
+
+        assertEquals("Nike Shoes", item.getTitle());
+        assertEquals(GSTCategory.GST_18, item.getGstCategory());
+    }
+
+    @Test
+    void rehydrateSkipsCartsStoredWhole() {
+        Cart cart = cartOf(new CartItem("shoe-1", "SHOE001", "Nike Shoes", ProductCategory.SHOES, 1, 5000.0f, "INR", GSTCategory.GST_18));
+
+        assertSame(cart, catalog.rehydrate(cart).block());
+        verify(hashOps, never()).multiGet(any(), anyList());
+    }
+
+    private static Cart cartOf(CartItem... items) {
+        return new Cart("customer123", List.of(items), 0.0f, 0.0f, 0.0f, "INR");
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.cart.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartEventTest {
+
+    @Test
+    void fromFieldsDecodesAnEntry() {
+        CartEvent event = CartEvent.fromFields("1-0", Map.of("c", "customer123", "op", "SET", "seq", "7", "n", "2", "t", "150.5"));
+
+        assertEquals("1-0", event.getId());
+        assertEquals("customer123", event.getCustomerId());
+        assertEquals(CartEvent.Operation.SET, event.getOperation());
+        assertEquals(7, event.getSequence());
+        assertEquals(2, event.getItemCount());
+        assertEquals(150.5f, event.getTotal());
+    }
+
+    @Test
+    void fromFieldsRejectsTrimmedEntries() {
+        assertThrows(IllegalArgumentException.class, () -> CartEvent.fromFields("1-0", null));
+        assertThrows(IllegalArgumentException.class, () -> CartEvent.fromFields("1-0", Collections.emptyMap()));
+    }
+
+    @Test
+    void fromFieldsRejectsMalformedEntries() {
+        assertThrows(IllegalArgumentException.class, () -> CartEvent.fromFields("1-0", Map.of("c", "customer123", "op", "SET")));
+        assertThrows(IllegalArgumentException.class, () -> CartEvent.fromFields("1-0", Map.of("c", "customer123", "op", "PUT", "seq", "7")));
+        assertThrows(IllegalArgumentException.class, () -> CartEvent.fromFields("1-0", Map.of("c", "customer123", "op", "SET", "seq", "x")));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.cart.hotkey;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHitterSketchTest {
+
+    @Test
+    void testHottestKeysAreReportedFirst() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(4, 1024, 4);
+
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 3 == 0) {
+                sketch.add("guest-user");
+            } else if (i % 7 == 0) {
+                sketch.add("bot-42");
+            } else {
+                sketch.add("customer-" + i);
+            }
+        }
+
+        List<String> keys = sketch.topK().stream().map(HeavyHitterSketch.Entry::getKey).collect(Collectors.toList());
+        assertEquals("guest-user", keys.get(0));
+        assertEquals("bot-42", keys.get(1));
+        assertTrue(sketch.estimate("guest-user") >= 3334);
+    }
+
+    @Test
+    void testResetStartsNewWindow() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(4, 1024, 4);
+        sketch.add("guest-user");
+        sketch.add("guest-user");
+
+        sketch.reset();
+
+        assertEquals(0, sketch.estimate("guest-user"));
+        assertTrue(sketch.topK().isEmpty());
+    }
+
+    @Test
+    void testCapacityIsBounded() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(2, 64, 3);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("key-" + i);
+        }
+        assertEquals(3, sketch.topK().size());
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.cart.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final double MILLISECOND = 1_000_000.0;
+
+    @Test
+    void testAcquireStopsAtLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2.0, 1.0);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release();
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRisesAndGrowsBackUnderLoad() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1000, 2.0, 1.0);
+        for (int i = 0; i < 50; i++) {
+            limit.update(MILLISECOND);
+        }
+        saturate(limit);
+
+        for (int i = 0; i < 5; i++) {
+            limit.update(20 * MILLISECOND);
+        }
+        int shrunk = limit.getLimit();
+        assertTrue(shrunk < 100, "limit should shrink under high latency, was " + shrunk);
+        assertTrue(shrunk >= 10);
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limit);
+            limit.update(MILLISECOND);
+        }
+        assertTrue(limit.getLimit() > shrunk, "limit should recover once latency is back to baseline");
+    }
+
+    @Test
+    void testIdleLimitDoesNotGrow() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1000, 2.0, 1.0);
+        for (int i = 0; i < 50; i++) {
+            limit.update(MILLISECOND);
+        }
+        assertEquals(100, limit.getLimit());
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimit limit) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release();
+        }
+    }
+}
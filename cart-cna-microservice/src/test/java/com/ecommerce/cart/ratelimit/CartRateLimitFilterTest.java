@@ -0,0 +1,28 @@
+package com.ecommerce.cart.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartRateLimitFilterTest {
+
+    @Test
+    void testCustomerIdIsTakenFromThePath() {
+        assertEquals("customer-1", CartRateLimitFilter.pathCustomerId("/cart/customer-1"));
+        assertEquals("customer-1", CartRateLimitFilter.pathCustomerId("/cart/customer-1/tax-breakdown"));
+        assertEquals("customer-1", CartRateLimitFilter.pathCustomerId("/cart/customer-1/merge"));
+    }
+
+    @Test
+    void testCartRootHasNoCustomer() {
+        assertNull(CartRateLimitFilter.pathCustomerId("/cart"));
+        assertNull(CartRateLimitFilter.pathCustomerId("/cart/"));
+        assertNull(CartRateLimitFilter.pathCustomerId("/carts/customer-1"));
+    }
+
+    @Test
+    void testBulkOperationsAreNotCustomers() {
+        assertNull(CartRateLimitFilter.pathCustomerId("/cart/export"));
+        assertNull(CartRateLimitFilter.pathCustomerId("/cart/import"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.cart.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTableTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testBurstThenRefill() {
+        TokenBucketTable buckets = new TokenBucketTable(4, 100, 3, 1);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, buckets.tryAcquire("customer-1", 1, now));
+        assertEquals(0, buckets.tryAcquire("customer-1", 1, now));
+        assertEquals(0, buckets.tryAcquire("customer-1", 1, now));
+        assertEquals(SECOND, buckets.tryAcquire("customer-1", 1, now));
+        assertEquals(0, buckets.tryAcquire("customer-2", 1, now), "buckets are per key");
+
+        assertEquals(0, buckets.tryAcquire("customer-1", 1, now + SECOND));
+        assertTrue(buckets.tryAcquire("customer-1", 1, now + SECOND) > 0);
+    }
+
+    @Test
+    void testCostAboveCapacityDrainsTheWholeBucket() {
+        TokenBucketTable buckets = new TokenBucketTable(1, 10, 5, 5);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, buckets.tryAcquire("lister", 10, now));
+        assertTrue(buckets.tryAcquire("lister", 1, now) > 0);
+    }
+
+    @Test
+    void testTableIsBounded() {
+        TokenBucketTable buckets = new TokenBucketTable(4, 40, 1, 1);
+        for (int i = 0; i < 1000; i++) {
+            buckets.tryAcquire("customer-" + i, 1, SECOND);
+        }
+        assertTrue(buckets.size() <= 40);
+    }
+}
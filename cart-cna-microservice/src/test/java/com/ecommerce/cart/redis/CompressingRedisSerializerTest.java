@@ -0,0 +1,96 @@
+package com.ecommerce.cart.redis;
+
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressingRedisSerializerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Jackson2JsonRedisSerializer<Cart> json = new Jackson2JsonRedisSerializer<>(Cart.class);
+
+    @Test
+    void testSmallCartIsStoredUncompressed() {
+        CompressingRedisSerializer<Cart> serializer = new CompressingRedisSerializer<>(json, CompressionCodec.LZ4, 4096, meterRegistry);
+        Cart cart = createCart(1);
+
+        byte[] bytes = serializer.serialize(cart);
+
+        assertArrayEquals(json.serialize(cart), bytes);
+        assertEquals(cart, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testLargeCartRoundTripsWithEachCodec() {
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            CompressingRedisSerializer<Cart> serializer = new CompressingRedisSerializer<>(json, codec, 1024, meterRegistry);
+            Cart cart = createCart(200);
+
+            byte[] bytes = serializer.serialize(cart);
+
+            assertEquals(codec.getHeader(), bytes[0]);
+            assertTrue(bytes.length < json.serialize(cart).length);
+            assertEquals(cart, serializer.deserialize(bytes));
+        }
+        assertEquals(2, meterRegistry.find("cart.redis.compression.ratio").summaries().size());
+    }
+
+    @Test
+    void testValuesWrittenWithAnotherCodecRemainReadable() {
+        CompressingRedisSerializer<Cart> deflate = new CompressingRedisSerializer<>(json, CompressionCodec.DEFLATE, 1024, meterRegistry);
+        CompressingRedisSerializer<Cart> lz4 = new CompressingRedisSerializer<>(json, CompressionCodec.LZ4, 1024, meterRegistry);
+        Cart cart = createCart(200);
+
+        assertEquals(cart, lz4.deserialize(deflate.serialize(cart)));
+        assertEquals(cart, lz4.deserialize(json.serialize(cart)));
+    }
+
+    @Test
+    void testCorruptPayloadsFailAsSerializationErrors() {
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            CompressingRedisSerializer<Cart> serializer = new CompressingRedisSerializer<>(json, codec, 1024, meterRegistry);
+            byte[] bytes = serializer.serialize(createCart(200));
+
+            byte[] corrupt = bytes.clone();
+            for (int i = CompressionCodec.HEADER_LENGTH; i < corrupt.length; i += 7) {
+                corrupt[i] = (byte) ~corrupt[i];
+            }
+            assertThrows(SerializationException.class, () -> serializer.deserialize(corrupt), codec.name());
+
+            byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+            assertThrows(SerializationException.class, () -> serializer.deserialize(truncated), codec.name());
+        }
+    }
+
+    @Test
+    void testImplausibleOriginalLengthIsRejectedBeforeAllocating() {
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            byte[] framed = new byte[CompressionCodec.HEADER_LENGTH + 8];
+            ByteBuffer.wrap(framed).put(codec.getHeader()).putInt(Integer.MAX_VALUE);
+
+            SerializationException e = assertThrows(SerializationException.class, () -> codec.decode(framed), codec.name());
+            assertTrue(e.getMessage().contains("length"));
+        }
+    }
+
+    private Cart createCart(int itemCount) {
+        List<CartItem> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new CartItem("product-" + i, "sku-" + i, "Industrial Grade Stainless Steel Fastener Pack " + i,
+                    ProductCategory.GENERAL, 10, 99.0f, "INR", GSTCategory.GST_18));
+        }
+        return new Cart("b2b-customer", items, 0.0f, 0.0f, 0.0f, "INR", "standard", 0.0f);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.cart.service;
+
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.model.CartSummary;
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartProjectionTest {
+
+    @Test
+    void testSummaryViewIsServedFromSummary() {
+        CartProjection projection = CartProjection.of("summary", null);
+
+        assertTrue(projection.isServedFromSummary());
+        Map<String, Object> projected = projection.apply(CartSummary.of(createCart()));
+        assertEquals(2, projected.get("itemCount"));
+        assertEquals(3, projected.get("totalQuantity"));
+        assertEquals(354.0f, projected.get("total"));
+        assertFalse(projected.containsKey("items"));
+    }
+
+    @Test
+    void testFieldsAreReturnedInRequestedOrder() {
+        CartProjection projection = CartProjection.of(null, "total, itemCount");
+
+        assertEquals(List.of("total", "itemCount"), List.copyOf(projection.apply(createCart()).keySet()));
+    }
+
+    @Test
+    void testItemsViewNeedsFullCart() {
+        CartProjection projection = CartProjection.of("items", null);
+
+        assertFalse(projection.isServedFromSummary());
+        assertEquals(2, ((List<?>) projection.apply(createCart()).get("items")).size());
+    }
+
+    @Test
+    void testNoProjectionRequested() {
+        assertNull(CartProjection.of(null, null));
+        assertNull(CartProjection.of("", " "));
+    }
+
+    @Test
+    void testUnknownViewOrFieldIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CartProjection.of("badge", null));
+        assertThrows(IllegalArgumentException.class, () -> CartProjection.of(null, "total,password"));
+    }
+
+    private Cart createCart() {
+        CartItem shoes = new CartItem("p-1", "sku-1", "Nike Shoes", ProductCategory.SHOES, 2, 100.0f, "INR", GSTCategory.GST_18);
+        CartItem socks = new CartItem("p-2", "sku-2", "Socks", ProductCategory.FASHION, 1, 100.0f, "INR", GSTCategory.GST_18);
+        return new Cart("customer123", List.of(shoes, socks), 300.0f, 54.0f, 354.0f, "INR", "default", 0.0f);
+    }
+}
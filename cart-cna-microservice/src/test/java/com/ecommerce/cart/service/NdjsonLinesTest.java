@@ -0,0 +1,47 @@
+package com.ecommerce.cart.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonLinesTest {
+
+    private static final DefaultDataBufferFactory BUFFERS = new DefaultDataBufferFactory();
+
+    @Test
+    void linesSpanningBuffersAreJoined() {
+        List<NdjsonLines.Line> lines = NdjsonLines.split(body("{\"a\":", "1}\n{\"b\"", ":2}\r\n\n{\"c\":3}"), 1024)
+                .collectList().block();
+
+        assertNotNull(lines);
+        assertEquals(4, lines.size());
+        assertEquals("{\"a\":1}", lines.get(0).getText());
+        assertEquals("{\"b\":2}", lines.get(1).getText());
+        assertTrue(lines.get(2).isBlank());
+        assertEquals("{\"c\":3}", lines.get(3).getText());
+    }
+
+    @Test
+    void oversizedLinesAreSkippedWithoutFailingTheBody() {
+        String big = "x".repeat(40);
+        List<NdjsonLines.Line> lines = NdjsonLines.split(body("{\"a\":1}\n" + big.substring(0, 25), big.substring(25) + "\n{\"b\":2}\n"), 16)
+                .collectList().block();
+
+        assertNotNull(lines);
+        assertEquals(3, lines.size());
+        assertEquals("{\"a\":1}", lines.get(0).getText());
+        assertTrue(lines.get(1).isOversized());
+        assertEquals(40, lines.get(1).getBytes());
+        assertEquals("{\"b\":2}", lines.get(2).getText());
+    }
+
+    private static Flux<DataBuffer> body(String... chunks) {
+        return Flux.fromArray(chunks).map(chunk -> BUFFERS.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -3,12 +3,16 @@ package com.ecommerce.cart.service;
 import com.ecommerce.cart.model.Cart;
 import com.ecommerce.cart.model.CartItem;
 import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.GstBreakdown;
 import com.ecommerce.cart.model.ProductCategory;
+import com.ecommerce.cart.tax.GstRuleEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Arrays;
 import java.util.List;
 
@@ -101,4 +105,85 @@ class TaxCalculationServiceTest {
         assertEquals(GSTCategory.GST_12, GSTCategory.determineGSTCategory(ProductCategory.SERVICE));
     }
 
+
+    @Test
+    void testCalculateTaxForCart_SplitsSlabsIntoCgstAndSgstWithinState() {
+        TaxCalculationService service = new TaxCalculationService(GstRuleEngine.withDefaultRules(), "KA");
+        CartItem medicineItem = new CartItem("med-1", "MED001", "Medicine Tablet", ProductCategory.MEDICINE, 3, 33.33f, "INR", GSTCategory.GST_5);
+        CartItem shoesItem = new CartItem("shoe-1", "SHOE001", "Nike Shoes", ProductCategory.SHOES, 1, 5000.0f, "INR", GSTCategory.GST_18);
+        CartItem socksItem = new CartItem("sock-1", "SOCK001", "Socks", ProductCategory.SHOES, 2, 250.0f, "INR", GSTCategory.GST_18);
+        Cart cart = new Cart("customer123", Arrays.asList(medicineItem, shoesItem, socksItem), 0.0f, 0.0f, 0.0f, "INR");
+        cart.setSupplyState("ka");
+
+        TaxCalculationService.TaxBreakdown result = service.calculateTaxForCart(cart);
+        GstBreakdown gst = result.getGst();
+
+        assertEquals(GstBreakdown.SupplyType.INTRA_STATE, gst.getSupplyType());
+        assertEquals("KA", gst.getPlaceOfSupply());
+        assertEquals(2, gst.getSlabs().size());
+
+        // 99.99 at 2.5% is 2.49975, printed as 2.50 for each of CGST and SGST
+        GstBreakdown.SlabTax gst5 = gst.getSlabs().get(0);
+        assertEquals(GSTCategory.GST_5, gst5.getGstCategory());
+        assertEquals(99.99f, gst5.getTaxableValue(), 0.001f);
+        assertEquals(2.50f, gst5.getCgst(), 0.001f);
+        assertEquals(2.50f, gst5.getSgst(), 0.001f);
+        assertEquals(0.0f, gst5.getIgst(), 0.001f);
+
+        GstBreakdown.SlabTax gst18 = gst.getSlabs().get(1);
+        assertEquals(GSTCategory.GST_18, gst18.getGstCategory());
+        assertEquals(5500.0f, gst18.getTaxableValue(), 0.001f);
+        assertEquals(495.0f, gst18.getCgst(), 0.001f);
+        assertEquals(990.0f, gst18.getTax(), 0.001f);
+
+        assertEquals(995.0f, gst.getTotalTax(), 0.001f);
+        assertEquals(gst.getTotalTax(), result.getTaxAmount(), 0.001f);
+        assertEquals(5599.99f + 995.0f, result.getTotal(), 0.01f);
+    }
+
+    @Test
+    void testCalculateTaxForCart_UsesIgstAcrossStates() {
+        TaxCalculationService service = new TaxCalculationService(GstRuleEngine.withDefaultRules(), "KA");
+        CartItem medicineItem = new CartItem("med-1", "MED001", "Medicine Tablet", ProductCategory.MEDICINE, 3, 33.33f, "INR", GSTCategory.GST_5);
+        Cart cart = new Cart("customer123", Arrays.asList(medicineItem), 0.0f, 0.0f, 0.0f, "INR");
+
+        TaxCalculationService.TaxBreakdown result = service.calculateTaxForCart(cart, "MH");
+        GstBreakdown gst = result.getGst();
+
+        // 99.99 at 5% is 4.9995, printed as 5.00 IGST
+        assertEquals(GstBreakdown.SupplyType.INTER_STATE, gst.getSupplyType());
+        assertEquals("MH", gst.getPlaceOfSupply());
+        assertEquals(0.0f, gst.getCgst(), 0.001f);
+        assertEquals(0.0f, gst.getSgst(), 0.001f);
+        assertEquals(5.0f, gst.getIgst(), 0.001f);
+        assertEquals(5.0f, result.getTaxAmount(), 0.001f);
+    }
+
+    @Test
+    void testToPaise_RoundsHalfPaisaUpOnTheDecimalValue() {
+        // Each of these is stored just below the half paisa, but invoices round the printed price
+        assertEquals(101, TaxCalculationService.toPaise(1.005f));
+        assertEquals(1001, TaxCalculationService.toPaise(10.005f));
+        assertEquals(12346, TaxCalculationService.toPaise(123.455f));
+        assertEquals(2, TaxCalculationService.toPaise(0.015f));
+        assertEquals(-101, TaxCalculationService.toPaise(-1.005f));
+    }
+
+    @Test
+    void testToPaise_MatchesDecimalRoundingForEveryHalfPaisaPrice() {
+        for (int tenthsOfPaise = 5; tenthsOfPaise < 10_000_000; tenthsOfPaise += 10) {
+            float price = Float.parseFloat(BigDecimal.valueOf(tenthsOfPaise, 3).toPlainString());
+            long expected = new BigDecimal(Float.toString(price))
+                    .setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+            assertEquals(expected, TaxCalculationService.toPaise(price), "price " + price);
+        }
+    }
+
+    @Test
+    void testToPaise_WholeAndTwoDecimalPrices() {
+        assertEquals(0, TaxCalculationService.toPaise(0.0f));
+        assertEquals(19999, TaxCalculationService.toPaise(199.99f));
+        assertEquals(5000000, TaxCalculationService.toPaise(50000.0f));
+        assertEquals(1000, TaxCalculationService.toPaise(9.995f));
+    }
 }
@@ -0,0 +1,106 @@
+package com.ecommerce.cart.shipping;
+
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShippingRateEngineTest {
+
+    @Test
+    void testLongestPincodePrefixSelectsZone() {
+        ShippingRateTable table = ShippingRateTable.compile(file(List.of(
+                new ShippingRateFile.ZoneRule("5", ShippingZone.REGIONAL),
+                new ShippingRateFile.ZoneRule("560", ShippingZone.LOCAL),
+                new ShippingRateFile.ZoneRule("79", ShippingZone.REMOTE)), 0.0f, null));
+
+        assertEquals(ShippingZone.LOCAL, table.zoneOf("560001"));
+        assertEquals(ShippingZone.REGIONAL, table.zoneOf("570001"));
+        assertEquals(ShippingZone.REMOTE, table.zoneOf("791001"));
+        assertEquals(ShippingZone.NATIONAL, table.zoneOf("110001"));
+        assertEquals(ShippingZone.NATIONAL, table.zoneOf("56"));
+        assertEquals(ShippingZone.NATIONAL, table.zoneOf("ab0001"));
+        assertEquals(ShippingZone.NATIONAL, table.zoneOf(null));
+    }
+
+    @Test
+    void testWeightBeyondIncludedIsChargedPerStep() {
+        ShippingRateTable table = ShippingRateTable.compile(file(List.of(
+                new ShippingRateFile.ZoneRule("560", ShippingZone.LOCAL)), 20.0f, null));
+
+        assertEquals(79.0f, table.quote("standard", "560001", 2000, 500.0f));
+        assertEquals(99.0f, table.quote("standard", "560001", 2001, 500.0f));
+        assertEquals(119.0f, table.quote("standard", "560001", 3000, 500.0f));
+        assertEquals(99.0f + 2 * 20.0f, table.quote("standard", "110001", 3000, 500.0f));
+    }
+
+    @Test
+    void testCartsAboveThresholdShipFree() {
+        ShippingRateTable table = ShippingRateTable.compile(file(List.of(), 0.0f, 999.0f));
+
+        assertEquals(99.0f, table.quote("standard", "110001", 500, 998.99f));
+        assertEquals(0.0f, table.quote("standard", "110001", 500, 999.0f));
+    }
+
+    @Test
+    void testInvalidRatesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ShippingRateTable.compile(file(List.of(
+                new ShippingRateFile.ZoneRule("5600", ShippingZone.LOCAL)), 0.0f, null)));
+
+        ShippingRateFile missingZone = file(List.of(), 0.0f, null);
+        missingZone.getMethods().get(0).getRates().remove(ShippingZone.REMOTE);
+        assertThrows(IllegalArgumentException.class, () -> ShippingRateTable.compile(missingZone));
+
+        ShippingRateTable table = ShippingRateTable.compile(file(List.of(), 0.0f, null));
+        assertThrows(IllegalArgumentException.class, () -> table.quote("teleport", "560001", 0, 0.0f));
+    }
+
+    @Test
+    void testUnknownMethodIsAClientError() {
+        ShippingRateTable table = ShippingRateTable.compile(file(List.of(), 0.0f, null));
+
+        UnknownShippingMethodException e = assertThrows(UnknownShippingMethodException.class,
+                () -> table.quote("teleport", "560001", 0, 0.0f));
+
+        assertEquals("Unknown shipping method: teleport", e.getMessage());
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+        assertNotNull(status);
+        assertEquals(HttpStatus.BAD_REQUEST, status.code());
+    }
+
+    @Test
+    void testBundledRatesPriceCartByWeightAndPincode() {
+        ShippingRateEngine engine = ShippingRateEngine.withDefaultRates();
+        Cart cart = new Cart("customer123", List.of(
+                new CartItem("shoe-1", "SHOE001", "Nike Shoes", ProductCategory.SHOES, 2, 5000.0f, "INR", GSTCategory.GST_18, 1200),
+                new CartItem("sock-1", "SOCK001", "Socks", ProductCategory.SHOES, 1, 250.0f, "INR", GSTCategory.GST_5)),
+                10250.0f, 0.0f, 0.0f, "INR", "express", 0.0f);
+        cart.setShippingPincode("560034");
+
+        // 2 x 1200g + 500g default = 2900g; 1900g over the included 1000g is 4 steps of 500g
+        assertEquals(149.0f + 4 * 30.0f, engine.quote(cart));
+
+        cart.setShippingMethod("default");
+        assertEquals(0.0f, engine.quote(cart));
+    }
+
+    private static ShippingRateFile file(List<ShippingRateFile.ZoneRule> zones, float perStep, Float freeAbove) {
+        Map<ShippingZone, ShippingRateFile.Rate> rates = new EnumMap<>(ShippingZone.class);
+        rates.put(ShippingZone.LOCAL, new ShippingRateFile.Rate(79.0f, perStep));
+        rates.put(ShippingZone.REGIONAL, new ShippingRateFile.Rate(99.0f, perStep));
+        rates.put(ShippingZone.NATIONAL, new ShippingRateFile.Rate(99.0f, perStep));
+        rates.put(ShippingZone.REMOTE, new ShippingRateFile.Rate(149.0f, perStep));
+        return new ShippingRateFile("v1", ShippingZone.NATIONAL, 500, zones,
+                List.of(new ShippingRateFile.MethodRates("standard", 2000, 500, freeAbove, rates)));
+    }
+}
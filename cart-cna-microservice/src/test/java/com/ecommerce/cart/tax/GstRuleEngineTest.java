@@ -0,0 +1,78 @@
+package com.ecommerce.cart.tax;
+
+import com.ecommerce.cart.model.GSTCategory;
+import com.ecommerce.cart.model.ProductCategory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GstRuleEngineTest {
+
+    @Test
+    void testPriceBracketsSelectSlab() {
+        GstRuleTable table = GstRuleTable.compile(new GstRuleFile("v1", GSTCategory.GST_18, List.of(
+                new GstRuleFile.Rule(ProductCategory.FASHION, 1000.0f, GSTCategory.GST_12),
+                new GstRuleFile.Rule(ProductCategory.FASHION, null, GSTCategory.GST_5),
+                new GstRuleFile.Rule(ProductCategory.MEDICINE, null, GSTCategory.GST_5))));
+
+        assertEquals(GSTCategory.GST_5, table.lookup(ProductCategory.FASHION, 999.0f));
+        assertEquals(GSTCategory.GST_5, table.lookup(ProductCategory.FASHION, 1000.0f));
+        assertEquals(GSTCategory.GST_12, table.lookup(ProductCategory.FASHION, 1000.01f));
+        assertEquals(GSTCategory.GST_5, table.lookup(ProductCategory.MEDICINE, 50000.0f));
+        assertEquals(GSTCategory.GST_18, table.lookup(ProductCategory.GENERAL, 10.0f));
+        assertEquals(GSTCategory.GST_18, table.lookup(null, 10.0f));
+    }
+
+    @Test
+    void testCategoryWithoutBaseBracketFallsBackToDefaultBelowFirstThreshold() {
+        GstRuleTable table = GstRuleTable.compile(new GstRuleFile("v1", GSTCategory.GST_18, List.of(
+                new GstRuleFile.Rule(ProductCategory.ELECTRONICS, 50000.0f, GSTCategory.GST_28))));
+
+        assertEquals(GSTCategory.GST_18, table.lookup(ProductCategory.ELECTRONICS, 100.0f));
+        assertEquals(GSTCategory.GST_28, table.lookup(ProductCategory.ELECTRONICS, 60000.0f));
+    }
+
+    @Test
+    void testInvalidRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> GstRuleTable.compile(new GstRuleFile(null, null, List.of())));
+        assertThrows(IllegalArgumentException.class, () -> GstRuleTable.compile(new GstRuleFile("v1", null, List.of(
+                new GstRuleFile.Rule(ProductCategory.SHOES, 1000.0f, GSTCategory.GST_18),
+                new GstRuleFile.Rule(ProductCategory.SHOES, 1000.0f, GSTCategory.GST_12)))));
+    }
+
+    @Test
+    void testBundledRulesMatchStaticCategoryMapping() {
+        GstRuleEngine engine = GstRuleEngine.withDefaultRules();
+
+        for (ProductCategory category : ProductCategory.values()) {
+            assertEquals(GSTCategory.determineGSTCategory(category), engine.lookup(category, 500.0f), category.name());
+            assertEquals(GSTCategory.determineGSTCategory(category), engine.lookup(category, 1500.0f), category.name());
+        }
+    }
+
+    @Test
+    void testRulesFileIsHotSwapped(@TempDir Path dir) throws Exception {
+        Path rules = dir.resolve("gst-rules.json");
+        Files.writeString(rules, "{\"version\":\"1\",\"rules\":[{\"category\":\"TOYS\",\"slab\":\"GST_12\"}]}");
+        GstRuleEngine engine = new GstRuleEngine(new DefaultResourceLoader(), rules.toUri().toString());
+        assertEquals(GSTCategory.GST_12, engine.lookup(ProductCategory.TOYS, 100.0f));
+
+        Files.writeString(rules, "{\"version\":\"2\",\"rules\":[{\"category\":\"TOYS\",\"slab\":\"GST_28\"}]}");
+        Files.setLastModifiedTime(rules, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        engine.reloadIfChanged();
+        assertEquals("2", engine.currentRules().getVersion());
+        assertEquals(GSTCategory.GST_28, engine.lookup(ProductCategory.TOYS, 100.0f));
+
+        Files.writeString(rules, "{ not json");
+        Files.setLastModifiedTime(rules, FileTime.fromMillis(System.currentTimeMillis() + 20_000));
+        engine.reloadIfChanged();
+        assertEquals("2", engine.currentRules().getVersion());
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.cart.tracing;
+
+import com.ecommerce.cart.config.CartTracingProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestLogTest {
+
+    @Test
+    void testKeepsMostRecentFirst() {
+        SlowRequestLog log = new SlowRequestLog(properties(3));
+        for (int i = 0; i < 5; i++) {
+            log.record(request("customer-" + i));
+        }
+
+        List<SlowRequest> recent = log.recent();
+        assertEquals(3, recent.size());
+        assertEquals("customer-4", recent.get(0).getCustomerId());
+        assertEquals("customer-2", recent.get(2).getCustomerId());
+    }
+
+    @Test
+    void testTraceRecordsPhasesOfSlowRequests() {
+        SlowRequestLog log = new SlowRequestLog(properties(8));
+        CartRequestTrace trace = new CartRequestTrace("write", null, null, log, 0);
+        trace.cart("customer-1", 2);
+
+        assertEquals("priced", trace.time(CartPhase.TAX, () -> {
+            LockSupport.parkNanos(1_000_000);
+            return "priced";
+        }));
+        trace.time(CartPhase.SERIALIZE, () -> { });
+        trace.payload(512);
+        trace.finish();
+
+        assertTrue(trace.phaseNanos(CartPhase.TAX) > 0);
+        assertEquals(0, trace.phaseNanos(CartPhase.REDIS_WRITE));
+        SlowRequest slow = log.recent().get(0);
+        assertEquals("write", slow.getOperation());
+        assertEquals(2, slow.getItemCount());
+        assertEquals(512, slow.getPayloadBytes());
+        assertTrue(slow.getPhaseMillis().containsKey("cart.tax"));
+        assertFalse(slow.getPhaseMillis().containsKey("cart.redis.write"));
+    }
+
+    @Test
+    void testFastRequestsAreNotRecorded() {
+        SlowRequestLog log = new SlowRequestLog(properties(8));
+        CartRequestTrace trace = new CartRequestTrace("read", null, null, log, Long.MAX_VALUE);
+        trace.time(CartPhase.REDIS_READ, () -> { });
+        trace.finish();
+
+        assertTrue(log.recent().isEmpty());
+        CartRequestTrace.NONE.finish();
+    }
+
+    private static CartTracingProperties properties(int capacity) {
+        CartTracingProperties properties = new CartTracingProperties();
+        properties.setSlowRequestCapacity(capacity);
+        return properties;
+    }
+
+    private static SlowRequest request(String customerId) {
+        return new SlowRequest(Instant.now(), "write", customerId, null, 300, 1, 100, Map.of());
+    }
+}